@@ -0,0 +1,199 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// JMH benchmarks of the hull and area entry points for every distribution and size.
+// Throughput and sample time give ops/us and the latency percentiles, the gc profiler
+// (on in build.gradle) the allocation rate and bytes per operation.
+//
+// JMH rejects benchmark classes in the default package, and the classes in src/ live
+// there, where no other package can name them. So the entry points are looked up once
+// into static final method handles, which the JIT treats as constants and inlines like
+// direct calls.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HullBenchmark {
+    private static final MethodHandle NEW_POINT = constructor("Point", double.class, double.class);
+    private static final MethodHandle NEW_AKL_TOUSSAINT = constructor("AklToussaint", int.class);
+
+    private static final MethodHandle COMPUTE_HULL_LIST =
+            method("QuickHull", "computeHull", List.class, List.class);
+    private static final MethodHandle COMPUTE_HULL_PRIMITIVE =
+            method("QuickHull", "computeHull", int[].class, double[].class, double[].class, int.class, int.class);
+    private static final MethodHandle COMPUTE_HULL_PREFILTERED =
+            method("QuickHull", "computeHull", int[].class, double[].class, double[].class, int.class, int.class,
+                    type("AklToussaint"));
+    private static final MethodHandle COMPUTE_HULL_AND_AREA =
+            method("QuickHull", "computeHullAndArea", type("HullResult"), List.class);
+    private static final MethodHandle SORT_COUNTER_CLOCKWISE =
+            method("QuickHull", "sortCounterClockwise", void.class, List.class);
+    private static final MethodHandle COMPUTE_AREA =
+            method("PolygonArea", "computeArea", double.class, List.class);
+    private static final MethodHandle FILTER =
+            virtual("AklToussaint", "filter", int.class, double[].class, double[].class, int[].class, int.class, int.class);
+
+    // 10^8 points need more than the fork's 8 GB with boxed points; pass it explicitly,
+    // e.g. with -Pjmh.params=size=100000000 and a larger heap
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM_SQUARE", "UNIFORM_DISK", "GAUSSIAN", "CIRCLE", "DUPLICATES"})
+    public PointDistributions distribution;
+
+    private double[] xs;
+    private double[] ys;
+    private List<Object> points;
+    private List<Object> hull;
+    private List<Object> shuffledHull;
+    private Object prefilter;
+    private int[] identity;
+    private int[] ids;
+
+
+    @Setup
+    public void setUp() throws Throwable {
+        xs = new double[size];
+        ys = new double[size];
+        distribution.fill(xs, ys, new Random(42));
+
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) points.add((Object) NEW_POINT.invokeExact(xs[i], ys[i]));
+        hull = new ArrayList<>((List<?>) COMPUTE_HULL_LIST.invokeExact((List<?>) points));
+        shuffledHull = new ArrayList<>(hull);
+        Collections.shuffle(shuffledHull, new Random(7));
+        prefilter = (Object) NEW_AKL_TOUSSAINT.invokeExact(8);
+        identity = new int[size];
+        for (int i = 0; i < size; i++) identity[i] = i;
+        ids = new int[size];
+    }
+
+
+    @Benchmark
+    public List<?> computeHullList() throws Throwable {
+        return (List<?>) COMPUTE_HULL_LIST.invokeExact((List<?>) points);
+    }
+
+
+    @Benchmark
+    public int[] computeHullPrimitive() throws Throwable {
+        return (int[]) COMPUTE_HULL_PRIMITIVE.invokeExact(xs, ys, 0, size);
+    }
+
+
+    @Benchmark
+    public int[] computeHullPrefiltered() throws Throwable {
+        return (int[]) COMPUTE_HULL_PREFILTERED.invokeExact(xs, ys, 0, size, prefilter);
+    }
+
+
+    // The ScanKernels scans of the prefilter alone: extremes, the lowest indices at them
+    // and the compaction. Includes restoring the index array the compaction reorders.
+    @Benchmark
+    public int aklToussaintFilter() throws Throwable {
+        System.arraycopy(identity, 0, ids, 0, size);
+        return (int) FILTER.invokeExact(prefilter, xs, ys, ids, 0, size);
+    }
+
+
+    // The two steps the fused computeHullAndArea replaces
+    @Benchmark
+    public double computeHullThenArea() throws Throwable {
+        return (double) COMPUTE_AREA.invokeExact((List<?>) (List<?>) COMPUTE_HULL_LIST.invokeExact((List<?>) points));
+    }
+
+
+    @Benchmark
+    public Object computeHullAndArea() throws Throwable {
+        return (Object) COMPUTE_HULL_AND_AREA.invokeExact((List<?>) points);
+    }
+
+
+    // Includes the copy, as the sort works in place
+    @Benchmark
+    public List<?> sortCounterClockwise() throws Throwable {
+        List<Object> copy = new ArrayList<>(shuffledHull);
+        SORT_COUNTER_CLOCKWISE.invokeExact((List<?>) copy);
+        return copy;
+    }
+
+
+    @Benchmark
+    public double computeArea() throws Throwable {
+        return (double) COMPUTE_AREA.invokeExact((List<?>) hull);
+    }
+
+
+    // Static method of a default-package class, with the classes of that package in its
+    // signature widened to Object
+    private static MethodHandle method(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findStatic(type(owner), name, MethodType.methodType(returnType, parameterTypes));
+            MethodType widened = MethodType.methodType(erase(returnType));
+            for (Class<?> parameterType : parameterTypes) widened = widened.appendParameterTypes(erase(parameterType));
+            return handle.asType(widened);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    // Instance method of a default-package class, the receiver widened to Object
+    private static MethodHandle virtual(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findVirtual(type(owner), name, MethodType.methodType(returnType, parameterTypes));
+            return handle.asType(handle.type().changeParameterType(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    private static MethodHandle constructor(String owner, Class<?>... parameterTypes) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findConstructor(type(owner), MethodType.methodType(void.class, parameterTypes));
+            return handle.asType(handle.type().changeReturnType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    private static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    private static Class<?> erase(Class<?> type) {
+        return type.isPrimitive() || type.isArray() || type == List.class ? type : Object.class;
+    }
+}
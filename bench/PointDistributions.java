@@ -0,0 +1,59 @@
+package bench;
+
+import java.util.Random;
+
+// Point clouds for the benchmarks. CIRCLE puts every point on the hull, the worst case
+// for QuickHull; DUPLICATES draws from a small grid so there are many repeated and
+// collinear points.
+public enum PointDistributions {
+    UNIFORM_SQUARE {
+        @Override
+        void fill(double[] xs, double[] ys, Random rng) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = rng.nextDouble() * 10;
+                ys[i] = rng.nextDouble() * 10;
+            }
+        }
+    },
+    UNIFORM_DISK {
+        @Override
+        void fill(double[] xs, double[] ys, Random rng) {
+            for (int i = 0; i < xs.length; i++) {
+                double r = 5 * Math.sqrt(rng.nextDouble());
+                double a = rng.nextDouble() * 2 * Math.PI;
+                xs[i] = 5 + r * Math.cos(a);
+                ys[i] = 5 + r * Math.sin(a);
+            }
+        }
+    },
+    GAUSSIAN {
+        @Override
+        void fill(double[] xs, double[] ys, Random rng) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = 5 + rng.nextGaussian();
+                ys[i] = 5 + rng.nextGaussian();
+            }
+        }
+    },
+    CIRCLE {
+        @Override
+        void fill(double[] xs, double[] ys, Random rng) {
+            for (int i = 0; i < xs.length; i++) {
+                double a = rng.nextDouble() * 2 * Math.PI;
+                xs[i] = 5 + 5 * Math.cos(a);
+                ys[i] = 5 + 5 * Math.sin(a);
+            }
+        }
+    },
+    DUPLICATES {
+        @Override
+        void fill(double[] xs, double[] ys, Random rng) {
+            for (int i = 0; i < xs.length; i++) {
+                xs[i] = rng.nextInt(11);
+                ys[i] = rng.nextInt(11);
+            }
+        }
+    };
+
+    abstract void fill(double[] xs, double[] ys, Random rng);
+}
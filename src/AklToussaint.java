@@ -0,0 +1,171 @@
+import java.util.Arrays;
+
+// Akl–Toussaint heuristic: the extreme points in 4 or 8 directions span a convex polygon
+// that lies inside the hull, so every point strictly inside it can be dropped up front.
+public class AklToussaint {
+    // Directions in counter-clockwise order, starting at -x
+    private static final double[] DIR_X_8 = {-1, -1, 0, 1, 1, 1, 0, -1};
+    private static final double[] DIR_Y_8 = {0, -1, -1, -1, 0, 1, 1, 1};
+    private static final double[] DIR_X_4 = {-1, 0, 1, 0};
+    private static final double[] DIR_Y_4 = {0, -1, 0, 1};
+
+    private final double[] dirX;
+    private final double[] dirY;
+    private final double[] score;
+    private final long[] extremeIndex;
+    private final double[] extremeX;
+    private final double[] extremeY;
+    private final double[] polyX;
+    private final double[] polyY;
+    private final double[] edgeBound;
+    private final double[] bounds = new double[8];
+    private final int[] lowest = new int[8];
+    private int vertices;
+    private long removed;
+
+    public AklToussaint(int directions) {
+        if (directions == 8) {
+            dirX = DIR_X_8;
+            dirY = DIR_Y_8;
+        } else if (directions == 4) {
+            dirX = DIR_X_4;
+            dirY = DIR_Y_4;
+        } else {
+            throw new IllegalArgumentException("Directions must be 4 or 8: " + directions);
+        }
+        score = new double[directions];
+        extremeIndex = new long[directions];
+        extremeX = new double[directions];
+        extremeY = new double[directions];
+        polyX = new double[directions];
+        polyY = new double[directions];
+        edgeBound = new double[directions];
+        reset();
+    }
+
+
+    public int getDirections() {
+        return dirX.length;
+    }
+
+
+    // Number of points dropped by the last filter run
+    public long getRemovedCount() {
+        return removed;
+    }
+
+
+    // Compacts idx[from..to) to the points that may still be hull vertices and returns the new end
+    public int filter(double[] xs, double[] ys, int[] idx, int from, int to) {
+        reset();
+        if (ScanKernels.extremes(xs, ys, idx, from, to, bounds)) {
+            // Every direction is an axis or a diagonal, so its largest score belongs to
+            // the points with one of these values
+            ScanKernels.lowestIndices(xs, ys, idx, from, to, bounds, lowest);
+            for (int d = 0; d < score.length; d++) {
+                int p = lowest[extremeOf(dirX[d], dirY[d])];
+                if (p != Integer.MAX_VALUE) accept(d, xs[p], ys[p], p);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                int p = idx[i];
+                accept(xs[p], ys[p], p);
+            }
+        }
+
+        int end = to;
+        if (build()) {
+            end = ScanKernels.compactOutside(xs, ys, idx, from, to, polyX, polyY, edgeBound, vertices);
+        }
+        removed = to - end;
+        return end;
+    }
+
+
+    void reset() {
+        Arrays.fill(score, Double.NEGATIVE_INFINITY);
+        Arrays.fill(extremeIndex, Long.MAX_VALUE);
+        vertices = 0;
+    }
+
+
+    // Ties go to the lowest index, like the x-extremes of QuickHull
+    void accept(double x, double y, long index) {
+        for (int d = 0; d < score.length; d++) accept(d, x, y, index);
+    }
+
+
+    private void accept(int d, double x, double y, long index) {
+        acceptExtreme(d, dirX[d] * x + dirY[d] * y, index, x, y);
+    }
+
+
+    // Position of the value a direction maximizes in the order of ScanKernels.extremes()
+    private static int extremeOf(double dx, double dy) {
+        if (dy == 0) return dx < 0 ? 0 : 1;
+        if (dx == 0) return dy < 0 ? 2 : 3;
+        if (dx == dy) return dx < 0 ? 4 : 5;
+        return dx < 0 ? 6 : 7;
+    }
+
+
+    void merge(AklToussaint other) {
+        for (int d = 0; d < score.length; d++) {
+            if (other.extremeIndex[d] != Long.MAX_VALUE)
+                acceptExtreme(d, other.score[d], other.extremeIndex[d], other.extremeX[d], other.extremeY[d]);
+        }
+    }
+
+
+    private void acceptExtreme(int d, double s, long index, double x, double y) {
+        if (s > score[d] || (s == score[d] && index < extremeIndex[d])) {
+            score[d] = s;
+            extremeIndex[d] = index;
+            extremeX[d] = x;
+            extremeY[d] = y;
+        }
+    }
+
+
+    // Builds the polygon of the extremes seen so far, false if it has no interior
+    boolean build() {
+        vertices = 0;
+        for (int d = 0; d < score.length; d++) {
+            if (extremeIndex[d] == Long.MAX_VALUE) return false;
+            double x = extremeX[d];
+            double y = extremeY[d];
+            if (vertices > 0 && polyX[vertices - 1] == x && polyY[vertices - 1] == y) continue;
+            polyX[vertices] = x;
+            polyY[vertices] = y;
+            vertices++;
+        }
+        while (vertices > 1 && polyX[vertices - 1] == polyX[0] && polyY[vertices - 1] == polyY[0]) vertices--;
+        if (vertices < 3) return false;
+
+        // With the extremes along ±x and ±y, their bounding box holds every point with
+        // finite coordinates, as the static filter of compactOutside() requires. Other
+        // points give infinite or NaN cross products, which it treats like Orientation.
+        double minX = polyX[0], maxX = minX, minY = polyY[0], maxY = minY;
+        for (int i = 1; i < vertices; i++) {
+            minX = Math.min(minX, polyX[i]);
+            maxX = Math.max(maxX, polyX[i]);
+            minY = Math.min(minY, polyY[i]);
+            maxY = Math.max(maxY, polyY[i]);
+        }
+        for (int i = 0, j = vertices - 1; i < vertices; j = i++) {
+            edgeBound[i] = Orientation.errorBound(polyX[j], polyY[j], polyX[i], polyY[i], maxX - minX, maxY - minY);
+        }
+        return true;
+    }
+
+
+    // Strictly inside, so points on the polygon boundary are kept
+    boolean isInside(double x, double y) {
+        return ScanKernels.isInside(polyX, polyY, vertices, x, y);
+    }
+
+
+    void setRemovedCount(long removed) {
+        this.removed = removed;
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Approximate hull in O(n + k) after Bentley, Faust and Preparata: the x-range is cut
+// into k strips, and only the lowest and highest point of each strip (plus the two
+// x-extremes) go into an exact hull. Its vertices are input points, so the polygon lies
+// inside the exact hull, and every input point is within error of it horizontally.
+// The strips also give a polygon around the exact hull, whose area is maxArea, so the
+// exact area lies in [area, maxArea]. More strips cost only O(k) time and memory more
+// and shrink both gaps about in proportion.
+public final class ApproximateHull {
+    // Strips beyond this would outgrow any use of an approximation
+    public static final int MAX_STRIPS = 1 << 24;
+
+    public final int[] indices;     // counter-clockwise from the smallest x, into the input coordinates
+    public final double area;
+    public final double maxArea;    // upper bound for the area of the exact hull
+    public final double error;      // upper bound for the Hausdorff distance to the exact hull
+
+    private ApproximateHull(int[] indices, double area, double maxArea, double error) {
+        this.indices = indices;
+        this.area = area;
+        this.maxArea = maxArea;
+        this.error = error;
+    }
+
+
+    public static ApproximateHull compute(List<Point> points, int strips) {
+        return compute(QuickHull.xsOf(points), QuickHull.ysOf(points), 0, points.size(), strips);
+    }
+
+
+    public static ApproximateHull computeWithin(List<Point> points, double tolerance) {
+        return computeWithin(QuickHull.xsOf(points), QuickHull.ysOf(points), 0, points.size(), tolerance);
+    }
+
+
+    // Uses as many strips as needed for an error of at most tolerance, in the units of
+    // the coordinates
+    public static ApproximateHull computeWithin(double[] xs, double[] ys, int offset, int length,
+                                                double tolerance) {
+        if (!(tolerance > 0))
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        QuickHull.checkRange(xs, ys, offset, length);
+
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        boolean finite = true;
+        for (int i = offset; i < offset + length; i++) {
+            finite &= Double.isFinite(xs[i]) & Double.isFinite(ys[i]);
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+        }
+        if (!finite)
+            throw new IllegalArgumentException("Coordinates must be finite");
+
+        // Halving the tolerance leaves room for the rounding slack of error. A tolerance
+        // finer than MAX_STRIPS can reach gets the exact hull, whose error is 0.
+        double strips = Math.ceil((maxX - minX) / (tolerance / 2));
+        if (!(strips <= MAX_STRIPS)) return exact(xs, ys, offset, length);
+        return compute(xs, ys, offset, length, Math.max(1, (int) strips));
+    }
+
+
+    public static ApproximateHull compute(double[] xs, double[] ys, int offset, int length, int strips) {
+        QuickHull.checkRange(xs, ys, offset, length);
+        if (strips < 1 || strips > MAX_STRIPS)
+            throw new IllegalArgumentException("Strips out of range: " + strips);
+
+        // With hardly more points than candidates, the exact hull is as cheap
+        if (length <= 2 * strips + 2) return exact(xs, ys, offset, length);
+
+        // x-extremes, ties broken by y as in QuickHull.findMinX/findMaxX
+        int minIndex = offset, maxIndex = offset;
+        boolean finite = true;
+        for (int i = offset; i < offset + length; i++) {
+            double x = xs[i], y = ys[i];
+            finite &= Double.isFinite(x) & Double.isFinite(y);
+            if (x < xs[minIndex] || (x == xs[minIndex] && y < ys[minIndex])) minIndex = i;
+            if (x > xs[maxIndex] || (x == xs[maxIndex] && y > ys[maxIndex])) maxIndex = i;
+        }
+        if (!finite)
+            throw new IllegalArgumentException("Coordinates must be finite");
+
+        double minX = xs[minIndex], maxX = xs[maxIndex];
+        double width = maxX - minX;
+        double scale = width > 0 ? strips / width : 0.0;
+
+        // Lowest and highest point of every strip, the first one on ties
+        int[] low = new int[strips];
+        int[] high = new int[strips];
+        double[] lowY = new double[strips];
+        double[] highY = new double[strips];
+        Arrays.fill(low, -1);
+        Arrays.fill(lowY, Double.POSITIVE_INFINITY);
+        Arrays.fill(highY, Double.NEGATIVE_INFINITY);
+        for (int i = offset; i < offset + length; i++) {
+            double y = ys[i];
+            int s = Math.min((int) ((xs[i] - minX) * scale), strips - 1);
+            if (y < lowY[s]) {
+                lowY[s] = y;
+                low[s] = i;
+            }
+            if (y > highY[s]) {
+                highY[s] = y;
+                high[s] = i;
+            }
+        }
+
+        // Inner hull over the candidates, in index order so that ties resolve as in
+        // the exact hull
+        int[] candidates = new int[2 * strips + 2];
+        int count = 0;
+        for (int s = 0; s < strips; s++) {
+            if (low[s] < 0) continue;
+            candidates[count++] = low[s];
+            if (high[s] != low[s]) candidates[count++] = high[s];
+        }
+        candidates[count++] = minIndex;
+        candidates[count++] = maxIndex;
+        Arrays.sort(candidates, 0, count);
+        double[] cxs = new double[count], cys = new double[count];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && candidates[i] == candidates[i - 1]) continue;
+            candidates[unique] = candidates[i];
+            cxs[unique] = xs[candidates[i]];
+            cys[unique] = ys[candidates[i]];
+            unique++;
+        }
+        HullResult inner = QuickHull.computeHullAndArea(cxs, cys, 0, unique);
+        int[] hull = new int[inner.indices.length];
+        for (int i = 0; i < hull.length; i++) hull[i] = candidates[inner.indices[i]];
+
+        // A point may land in a neighbouring strip by rounding, a few ulps off its own
+        double slack = 8 * Math.ulp(Math.max(Math.abs(minX), Math.abs(maxX)));
+        double stripWidth = width / strips;
+
+        // Outer polygon: the hull of the strips cut to their lowest and highest y
+        double[] oxs = new double[4 * strips], oys = new double[4 * strips];
+        int corners = 0;
+        for (int s = 0; s < strips; s++) {
+            if (low[s] < 0) continue;
+            double left = Math.max(minX, minX + s * stripWidth - slack);
+            double right = Math.min(maxX, minX + (s + 1) * stripWidth + slack);
+            oxs[corners] = left;
+            oys[corners++] = lowY[s];
+            oxs[corners] = left;
+            oys[corners++] = highY[s];
+            oxs[corners] = right;
+            oys[corners++] = lowY[s];
+            oxs[corners] = right;
+            oys[corners++] = highY[s];
+        }
+        double maxArea = QuickHull.computeHullAndArea(oxs, oys, 0, corners).area;
+
+        return new ApproximateHull(hull, inner.area, Math.max(maxArea, inner.area),
+                width > 0 ? stripWidth + 2 * slack : 0.0);
+    }
+
+
+    private static ApproximateHull exact(double[] xs, double[] ys, int offset, int length) {
+        HullResult exact = QuickHull.computeHullAndArea(xs, ys, offset, length);
+        return new ApproximateHull(exact.indices, exact.area, exact.area, 0.0);
+    }
+
+
+    public List<Point> select(List<Point> points) {
+        return QuickHull.select(points, indices);
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format("ApproximateHull(%d vertices, area %.4f to %.4f, error %.4g)",
+                indices.length, area, maxArea, error);
+    }
+
+}
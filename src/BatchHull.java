@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Hulls and areas of many small point sets packed into flat arrays. Set s covers
+// xs/ys[offsets[s]..offsets[s + 1]); its hull (indices into xs/ys, counter-clockwise)
+// is written to hullIndices starting at offsets[s], its vertex count to hullSizes[s]
+// and its area to areas[s]. Each worker reuses one QuickHullEngine for all its sets.
+public class BatchHull {
+    // Roughly this many points go into one task
+    private static final int POINTS_PER_TASK = 1 << 15;
+
+    private static final ThreadLocal<QuickHullEngine> ENGINES = ThreadLocal.withInitial(() -> {
+        QuickHullEngine engine = new QuickHullEngine();
+        engine.setMeasuring(true);
+        return engine;
+    });
+
+    private BatchHull() {
+    }
+
+    public static void computeHulls(double[] xs, double[] ys, int[] offsets,
+                                    int[] hullIndices, int[] hullSizes, double[] areas) {
+        computeHulls(xs, ys, offsets, hullIndices, hullSizes, areas, ForkJoinPool.commonPool());
+    }
+
+    // Any ExecutorService works, including a virtual-thread-per-task executor
+    public static void computeHulls(double[] xs, double[] ys, int[] offsets,
+                                    int[] hullIndices, int[] hullSizes, double[] areas,
+                                    ExecutorService executor) {
+        int sets = checkArguments(xs, ys, offsets, hullIndices, hullSizes, areas);
+        if (executor == null)
+            throw new IllegalArgumentException("Executor is null");
+
+        // Cut the sets into tasks of about POINTS_PER_TASK points each
+        List<Future<?>> tasks = new ArrayList<>();
+        int first = 0;
+        while (first < sets) {
+            int last = first + 1;
+            while (last < sets && offsets[last + 1] - offsets[first] < POINTS_PER_TASK) last++;
+
+            int from = first;
+            int to = last;
+            tasks.add(executor.submit(() -> computeRange(xs, ys, offsets, hullIndices, hullSizes, areas, from, to)));
+            first = last;
+        }
+
+        try {
+            for (Future<?> task : tasks) task.get();
+        } catch (InterruptedException e) {
+            for (Future<?> task : tasks) task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing hulls", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Same result on the calling thread only
+    public static void computeHullsSequential(double[] xs, double[] ys, int[] offsets,
+                                              int[] hullIndices, int[] hullSizes, double[] areas) {
+        int sets = checkArguments(xs, ys, offsets, hullIndices, hullSizes, areas);
+        computeRange(xs, ys, offsets, hullIndices, hullSizes, areas, 0, sets);
+    }
+
+    private static void computeRange(double[] xs, double[] ys, int[] offsets,
+                                     int[] hullIndices, int[] hullSizes, double[] areas,
+                                     int firstSet, int lastSet) {
+        QuickHullEngine engine = ENGINES.get();
+        try {
+            for (int s = firstSet; s < lastSet; s++) {
+                int offset = offsets[s];
+                int h = engine.compute(xs, ys, offset, offsets[s + 1] - offset);
+                System.arraycopy(engine.hull(), 0, hullIndices, offset, h);
+                hullSizes[s] = h;
+
+                // Summed up by the engine while it emitted the hull
+                areas[s] = engine.area();
+            }
+        } finally {
+            // The engine outlives the call in a pool thread: it must not keep the caller's
+            // arrays reachable, nor the buffers of an exceptionally large set
+            engine.release(POINTS_PER_TASK);
+        }
+    }
+
+    private static int checkArguments(double[] xs, double[] ys, int[] offsets,
+                                      int[] hullIndices, int[] hullSizes, double[] areas) {
+        if (offsets == null || hullIndices == null || hullSizes == null || areas == null)
+            throw new IllegalArgumentException("Array is null");
+        if (offsets.length == 0)
+            throw new IllegalArgumentException("Offsets must contain at least one entry");
+
+        int sets = offsets.length - 1;
+        QuickHull.checkRange(xs, ys, offsets[0], offsets[sets] - offsets[0]);
+        for (int s = 0; s < sets; s++) {
+            if (offsets[s + 1] < offsets[s])
+                throw new IllegalArgumentException("Offsets must not decrease (set " + s + ")");
+        }
+        if (hullIndices.length < offsets[sets])
+            throw new IllegalArgumentException("hullIndices needs at least " + offsets[sets] + " entries");
+        if (hullSizes.length < sets || areas.length < sets)
+            throw new IllegalArgumentException("hullSizes and areas need at least " + sets + " entries");
+        return sets;
+    }
+}
@@ -0,0 +1,143 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Out-of-core hull: points arrive in chunks, and only the hull of everything seen so far
+// is kept between chunks (hull of hulls). Memory is bounded by chunk size plus hull size.
+// The result is the same as one QuickHull.computeHull call over all points in order.
+public class ChunkedHull {
+    private final QuickHullEngine engine = new QuickHullEngine();
+
+    // Current hull vertices in [0, hullSize), the next chunk is appended behind them
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private long[] origin = new long[0];
+    private int hullSize;
+    private long pointCount;
+
+    // Scratch space for moving the new hull to the front
+    private double[] hullXs = new double[0];
+    private double[] hullYs = new double[0];
+    private long[] hullOrigin = new long[0];
+
+
+    // Adds the next chunk; its points get the indices following the previous chunks
+    public void add(double[] chunkXs, double[] chunkYs, int offset, int length) {
+        QuickHull.checkRange(chunkXs, chunkYs, offset, length);
+
+        ensureCapacity(hullSize + length);
+        System.arraycopy(chunkXs, offset, xs, hullSize, length);
+        System.arraycopy(chunkYs, offset, ys, hullSize, length);
+        for (int i = 0; i < length; i++) origin[hullSize + i] = pointCount + i;
+        pointCount += length;
+
+        // Old hull vertices come first and have lower indices than the chunk,
+        // so duplicates resolve to the earliest point as in a single pass
+        // Fewer than 3 points are returned as given; once 3 or more points have been seen,
+        // even one or two carried vertices must come out as a real hull
+        int total = hullSize + length;
+        engine.setNormalizing(pointCount >= 3);
+        int h = engine.compute(xs, ys, 0, total);
+        int[] hull = engine.hull();
+
+        if (hullXs.length < h) {
+            hullXs = new double[Math.max(h, 2 * hullXs.length)];
+            hullYs = new double[hullXs.length];
+            hullOrigin = new long[hullXs.length];
+        }
+        for (int i = 0; i < h; i++) {
+            hullXs[i] = xs[hull[i]];
+            hullYs[i] = ys[hull[i]];
+            hullOrigin[i] = origin[hull[i]];
+        }
+        System.arraycopy(hullXs, 0, xs, 0, h);
+        System.arraycopy(hullYs, 0, ys, 0, h);
+        System.arraycopy(hullOrigin, 0, origin, 0, h);
+        hullSize = h;
+    }
+
+
+    public long getPointCount() {
+        return pointCount;
+    }
+
+
+    // Indices of the hull vertices among all points added, counter-clockwise
+    public long[] getHull() {
+        return Arrays.copyOf(origin, hullSize);
+    }
+
+
+    public List<Point> getHullPoints() {
+        List<Point> hull = new ArrayList<>(hullSize);
+        for (int i = 0; i < hullSize; i++) hull.add(new Point(xs[i], ys[i]));
+        return hull;
+    }
+
+
+    // Reads little-endian double pairs until the end of the stream, chunkPoints at a time
+    public static ChunkedHull read(InputStream in, int chunkPoints) throws IOException {
+        checkChunkPoints(chunkPoints);
+
+        ChunkedHull hull = new ChunkedHull();
+        byte[] bytes = new byte[chunkPoints * MappedPointFile.BYTES_PER_POINT];
+        double[] chunkXs = new double[chunkPoints];
+        double[] chunkYs = new double[chunkPoints];
+        while (true) {
+            int read = in.readNBytes(bytes, 0, bytes.length);
+            if (read % MappedPointFile.BYTES_PER_POINT != 0)
+                throw new EOFException("Stream ends inside a point after " + (hull.pointCount + read / MappedPointFile.BYTES_PER_POINT) + " points");
+
+            int n = read / MappedPointFile.BYTES_PER_POINT;
+            DoubleBuffer coords = ByteBuffer.wrap(bytes, 0, read).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            for (int i = 0; i < n; i++) {
+                chunkXs[i] = coords.get(2 * i);
+                chunkYs[i] = coords.get(2 * i + 1);
+            }
+            if (n > 0) hull.add(chunkXs, chunkYs, 0, n);
+            if (read < bytes.length) return hull;
+        }
+    }
+
+
+    // Same for a mapped file, without mapping more than one chunk's worth into the heap
+    public static ChunkedHull read(MappedPointFile file, int chunkPoints) {
+        checkChunkPoints(chunkPoints);
+
+        ChunkedHull hull = new ChunkedHull();
+        double[] chunkXs = new double[chunkPoints];
+        double[] chunkYs = new double[chunkPoints];
+        file.forEachChunk((coords, firstIndex) -> {
+            int points = coords.limit() / 2;
+            for (int start = 0; start < points; start += chunkPoints) {
+                int n = Math.min(chunkPoints, points - start);
+                for (int i = 0; i < n; i++) {
+                    chunkXs[i] = coords.get(2 * (start + i));
+                    chunkYs[i] = coords.get(2 * (start + i) + 1);
+                }
+                hull.add(chunkXs, chunkYs, 0, n);
+            }
+        });
+        return hull;
+    }
+
+
+    private void ensureCapacity(int capacity) {
+        if (xs.length >= capacity) return;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        origin = Arrays.copyOf(origin, capacity);
+    }
+
+
+    private static void checkChunkPoints(int chunkPoints) {
+        if (chunkPoints < 1 || chunkPoints > Integer.MAX_VALUE / MappedPointFile.BYTES_PER_POINT)
+            throw new IllegalArgumentException("Chunk size out of range: " + chunkPoints);
+    }
+}
@@ -9,6 +9,8 @@ public class ControlPanel extends JPanel {
     private final JTextField pointCountField;
     private final JSlider speedSlider;
     private final JLabel areaLabel;
+    private final JProgressBar progressBar;
+    private final JButton cancelBtn;
 
     public ControlPanel(HullPanel hullPanel) {
         this.hullPanel = hullPanel;
@@ -62,6 +64,18 @@ public class ControlPanel extends JPanel {
         add(animateBtn);
         add(Box.createVerticalStrut(6));
         add(fastBtn);
+        add(Box.createVerticalStrut(6));
+        cancelBtn = button("Cancel");
+        cancelBtn.setEnabled(false);
+        add(cancelBtn);
+        add(Box.createVerticalStrut(8));
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        progressBar.setMaximumSize(new Dimension(200, 20));
+        progressBar.setAlignmentX(LEFT_ALIGNMENT);
+        add(progressBar);
 
         add(Box.createVerticalStrut(18));
 
@@ -82,32 +96,49 @@ public class ControlPanel extends JPanel {
             }
             hullPanel.generatePoints(n);
             areaLabel.setText("Area: —");
+            setBusy(false, "");
         });
 
         animateBtn.addActionListener(e -> {
             hullPanel.clear();
             areaLabel.setText("Area: —");
-            hullPanel.startAnimation(speedSlider.getValue());
-
-            javax.swing.Timer poll = new javax.swing.Timer(200, null);
-            poll.addActionListener(ev -> {
-                double a = hullPanel.getArea();
-                if (a > 0) {
-                    areaLabel.setText(String.format("Area: %.4f", a));
-                    poll.stop();
-                }
-            });
-            poll.start();
+            setBusy(true, "Animating…");
+            progressBar.setIndeterminate(true);
+            hullPanel.startAnimation(speedSlider.getValue(), this::showArea, this::showFailure);
         });
 
         fastBtn.addActionListener(e -> {
             hullPanel.clear();
-            hullPanel.computeFast();
-            double a = hullPanel.getArea();
-            areaLabel.setText(a > 0 ? String.format("Area: %.4f", a) : "Area: —");
+            areaLabel.setText("Area: —");
+            setBusy(true, "Computing…");
+            hullPanel.computeFast(progressBar::setValue, this::showArea, this::showFailure);
+        });
+
+        cancelBtn.addActionListener(e -> {
+            hullPanel.cancel();
+            setBusy(false, "Cancelled");
         });
     }
 
+    private void showArea(double a) {
+        areaLabel.setText(a > 0 ? String.format("Area: %.4f", a) : "Area: —");
+        setBusy(false, "Done");
+        progressBar.setValue(100);
+    }
+
+    private void showFailure(String message) {
+        setBusy(false, "Failed: " + message);
+        progressBar.setToolTipText(message);
+    }
+
+    private void setBusy(boolean busy, String status) {
+        cancelBtn.setEnabled(busy);
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(0);
+        progressBar.setString(status);
+        progressBar.setToolTipText(null);
+    }
+
     private int parseCount() {
         try {
             return Integer.parseInt(pointCountField.getText().trim());
@@ -0,0 +1,30 @@
+import java.util.List;
+
+// A 3D hull as triangles, with the measures of the solid it bounds
+public class Hull3DResult {
+    public final int[] faces;        // vertex triples, counter-clockwise seen from outside
+    public final int[] vertices;     // hull vertices, ascending
+    public final double volume;
+    public final double surfaceArea;
+
+    public Hull3DResult(int[] faces, int[] vertices, double volume, double surfaceArea) {
+        this.faces = faces;
+        this.vertices = vertices;
+        this.volume = volume;
+        this.surfaceArea = surfaceArea;
+    }
+
+    public int faceCount() {
+        return faces.length / 3;
+    }
+
+    public List<Point3D> select(List<Point3D> points) {
+        return QuickHull3D.select(points, vertices);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Hull3DResult(%d vertices, %d faces, volume %.4f, surface area %.4f)",
+                vertices.length, faceCount(), volume, surfaceArea);
+    }
+}
@@ -0,0 +1,469 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Headless batch mode of Main: reads point sets, writes their hulls and areas, and
+// reports for every phase the time taken, the points per second and the peak heap use.
+//
+//   java -cp out Main [--input csv|bin] [--output csv|bin|json] [--out FILE]
+//                     [--chunk N] [--quiet] input...
+//
+// An input is a file, or - for stdin. CSV holds one x,y pair per line (separated by a
+// comma, semicolon, tab or blanks); lines starting with # are comments, a first line that
+// is not a pair is a header, and a blank line ends a data set, so one input can hold
+// several. Binary input is little-endian double pairs as in MappedPointFile: files are
+// mapped and prefiltered in place, stdin is read in chunks. Other inputs are streamed
+// through ChunkedHull, so memory stays at one chunk plus the hull. --input defaults to
+// bin for .bin files and csv for everything else.
+//
+// CSV output has a comment line per data set with its name, point count, hull size and
+// area, followed by the hull's x,y lines and a blank line, so it reads back as input.
+// JSON is an array of {"dataset", "points", "area", "indices", "hull": [[x, y], ...]}.
+// Binary output has per data set the hull size as a long, the area as a double and the
+// hull's double pairs, all little-endian.
+public final class HullCli {
+    private static final String USAGE =
+            "Usage: Main [--input csv|bin] [--output csv|bin|json] [--out FILE] [--chunk N] [--quiet] input...";
+    private static final int DEFAULT_CHUNK_POINTS = 1 << 16;
+
+    private static final String[] PHASES = {"read", "hull", "area", "write"};
+    private static final int READ = 0, HULL = 1, AREA = 2, WRITE = 3;
+
+    private HullCli() {
+    }
+
+
+    // Exit code 0 on success, 1 if some input failed, 2 for bad arguments
+    public static int run(String[] args, InputStream stdin, PrintStream stdout, PrintStream stderr) {
+        String input = null;
+        String output = "csv";
+        Path outPath = null;
+        int chunkPoints = DEFAULT_CHUNK_POINTS;
+        boolean quiet = false;
+        List<String> inputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--input":
+                        input = choice(args, ++i, "csv", "bin");
+                        break;
+                    case "--output":
+                        output = choice(args, ++i, "csv", "bin", "json");
+                        break;
+                    case "--out":
+                        outPath = Paths.get(value(args, ++i));
+                        break;
+                    case "--chunk":
+                        chunkPoints = Integer.parseInt(value(args, ++i));
+                        if (chunkPoints < 1 || chunkPoints > Integer.MAX_VALUE / MappedPointFile.BYTES_PER_POINT)
+                            throw new IllegalArgumentException("Chunk size out of range: " + chunkPoints);
+                        break;
+                    case "--quiet":
+                        quiet = true;
+                        break;
+                    case "--help":
+                        stdout.println(USAGE);
+                        return 0;
+                    default:
+                        if (args[i].startsWith("--"))
+                            throw new IllegalArgumentException("Unknown option " + args[i]);
+                        inputs.add(args[i]);
+                }
+            }
+            if (inputs.isEmpty())
+                throw new IllegalArgumentException("No input given");
+        } catch (IllegalArgumentException e) {
+            stderr.println(e.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+
+        Report report = new Report(quiet ? null : stderr);
+        try {
+            if (outPath == null) return process(inputs, input, chunkPoints, stdin, new Output(output, stdout), report, stderr);
+            try (OutputStream file = Files.newOutputStream(outPath)) {
+                return process(inputs, input, chunkPoints, stdin, new Output(output, file), report, stderr);
+            }
+        } catch (IOException e) {
+            stderr.println("Cannot write output: " + e.getMessage());
+            return 1;
+        }
+    }
+
+
+    private static int process(List<String> inputs, String input, int chunkPoints, InputStream stdin,
+                               Output out, Report report, PrintStream stderr) throws IOException {
+        int status = 0;
+        out.begin();
+        for (String name : inputs) {
+            String format = input != null ? input : name.toLowerCase(Locale.ROOT).endsWith(".bin") ? "bin" : "csv";
+            Runner runner = new Runner(name.equals("-") ? "stdin" : name, chunkPoints, out, report);
+            try {
+                if (name.equals("-")) {
+                    if (format.equals("csv")) runner.readCsv(stdin);
+                    else runner.readBinary(stdin);
+                } else if (format.equals("csv")) {
+                    try (InputStream in = Files.newInputStream(Paths.get(name))) {
+                        runner.readCsv(in);
+                    }
+                } else {
+                    runner.readMapped(Paths.get(name));
+                }
+            } catch (NoSuchFileException e) {
+                stderr.println(runner.name + ": No such file");
+                status = 1;
+            } catch (IOException | RuntimeException e) {
+                stderr.println(runner.name + ": " + e.getMessage());
+                status = 1;
+            }
+        }
+        out.end();
+        return status;
+    }
+
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length)
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+
+
+    private static String choice(String[] args, int i, String... choices) {
+        String value = value(args, i);
+        for (String choice : choices) {
+            if (choice.equals(value)) return value;
+        }
+        throw new IllegalArgumentException("Unknown value for " + args[i - 1] + ": " + value);
+    }
+
+
+    // Reads the data sets of one input, in chunks alternating between the read and hull phases
+    private static final class Runner {
+        final String name;
+        final int chunkPoints;
+        final Output out;
+        final Report report;
+        final double[] xs;
+        final double[] ys;
+        int datasets;
+
+        ChunkedHull hull;
+        int buffered;
+        final Meter[] meters = new Meter[PHASES.length];
+
+        Runner(String name, int chunkPoints, Output out, Report report) {
+            this.name = name;
+            this.chunkPoints = chunkPoints;
+            this.out = out;
+            this.report = report;
+            xs = new double[chunkPoints];
+            ys = new double[chunkPoints];
+        }
+
+
+        void readCsv(InputStream in) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+            start();
+            boolean first = true;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    if (hull.getPointCount() + buffered > 0) {
+                        finish();
+                        start();
+                    }
+                    continue;
+                }
+                if (line.charAt(0) == '#') continue;
+
+                if (!parse(line)) {
+                    if (first) {
+                        first = false;
+                        continue;
+                    }
+                    throw new IllegalArgumentException("Line " + lineNumber + " is not a point: " + line);
+                }
+                first = false;
+                if (buffered == chunkPoints) flush();
+            }
+            if (hull.getPointCount() + buffered > 0 || datasets == 0) finish();
+        }
+
+
+        void readBinary(InputStream in) throws IOException {
+            byte[] bytes = new byte[chunkPoints * MappedPointFile.BYTES_PER_POINT];
+            start();
+            while (true) {
+                int read = in.readNBytes(bytes, 0, bytes.length);
+                if (read % MappedPointFile.BYTES_PER_POINT != 0)
+                    throw new EOFException("Stream ends inside a point after "
+                            + (hull.getPointCount() + read / MappedPointFile.BYTES_PER_POINT) + " points");
+
+                DoubleBuffer coords = ByteBuffer.wrap(bytes, 0, read).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                for (int i = 0, n = read / MappedPointFile.BYTES_PER_POINT; i < n; i++) {
+                    xs[i] = coords.get(2 * i);
+                    ys[i] = coords.get(2 * i + 1);
+                }
+                buffered = read / MappedPointFile.BYTES_PER_POINT;
+                if (read < bytes.length) break;
+                flush();
+            }
+            finish();
+        }
+
+
+        // The mapped scan reads and prefilters in one go, so reading only covers the mapping
+        void readMapped(Path path) throws IOException {
+            for (int p = 0; p < meters.length; p++) meters[p] = new Meter();
+            meters[READ].start();
+            try (MappedPointFile file = MappedPointFile.open(path)) {
+                meters[READ].stop();
+                meters[HULL].start();
+                long[] indices = file.computeHull();
+                meters[HULL].stop();
+
+                List<Point> points = new ArrayList<>(indices.length);
+                for (long i : indices) points.add(new Point(file.x(i), file.y(i)));
+                complete(file.size(), indices, points);
+            }
+        }
+
+
+        private void start() {
+            hull = new ChunkedHull();
+            buffered = 0;
+            for (int p = 0; p < meters.length; p++) meters[p] = new Meter();
+            meters[READ].start();
+        }
+
+
+        private void flush() {
+            meters[READ].stop();
+            meters[HULL].start();
+            if (buffered > 0) hull.add(xs, ys, 0, buffered);
+            buffered = 0;
+            meters[HULL].stop();
+            meters[READ].start();
+        }
+
+
+        private void finish() throws IOException {
+            flush();
+            meters[READ].stop();
+            complete(hull.getPointCount(), hull.getHull(), hull.getHullPoints());
+        }
+
+
+        private void complete(long points, long[] indices, List<Point> hullPoints) throws IOException {
+            datasets++;
+            String dataset = datasets == 1 ? name : name + "#" + datasets;
+
+            meters[AREA].start();
+            double area = PolygonArea.computeArea(hullPoints);
+            meters[AREA].stop();
+
+            meters[WRITE].start();
+            out.dataset(dataset, points, area, indices, hullPoints);
+            meters[WRITE].stop();
+
+            report.dataset(dataset, points, hullPoints.size(), meters);
+        }
+
+
+        // Appends the pair on the line, false if it does not hold one
+        private boolean parse(String line) {
+            int end = line.length();
+            int start = 0;
+            while (start < end && line.charAt(start) <= ' ') start++;
+            int separator = start;
+            while (separator < end && !isSeparator(line.charAt(separator))) separator++;
+            int next = separator;
+            while (next < end && (isSeparator(line.charAt(next)))) next++;
+            if (separator == end || next == end) return false;
+            try {
+                xs[buffered] = Double.parseDouble(line.substring(start, separator));
+                ys[buffered] = Double.parseDouble(line.substring(next, end).strip());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            buffered++;
+            return true;
+        }
+
+
+        private static boolean isSeparator(char c) {
+            return c == ',' || c == ';' || c <= ' ';
+        }
+    }
+
+
+    // Wall time and heap peak of one phase, over all the intervals it ran
+    private static final class Meter {
+        private static final List<MemoryPoolMXBean> HEAP_POOLS = heapPools();
+
+        long nanos;
+        long peakBytes;
+        private long started;
+
+        void start() {
+            for (MemoryPoolMXBean pool : HEAP_POOLS) pool.resetPeakUsage();
+            started = System.nanoTime();
+        }
+
+
+        void stop() {
+            nanos += System.nanoTime() - started;
+
+            // The pools peak at different moments, so the sum is an upper bound
+            long peak = 0;
+            for (MemoryPoolMXBean pool : HEAP_POOLS) peak += pool.getPeakUsage().getUsed();
+            peakBytes = Math.max(peakBytes, peak);
+        }
+
+
+        private static List<MemoryPoolMXBean> heapPools() {
+            List<MemoryPoolMXBean> pools = new ArrayList<>();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.isValid()) pools.add(pool);
+            }
+            return pools;
+        }
+    }
+
+
+    private static final class Report {
+        private final PrintStream err;
+        private boolean header;
+
+        Report(PrintStream err) {
+            this.err = err;
+        }
+
+
+        void dataset(String dataset, long points, int hullSize, Meter[] meters) {
+            if (err == null) return;
+            if (!header) {
+                err.println("dataset | phase | points | ms | points/s | peak heap MB");
+                header = true;
+            }
+            for (int p = 0; p < PHASES.length; p++) {
+                long n = p <= HULL ? points : hullSize;
+                double seconds = meters[p].nanos / 1e9;
+                err.printf(Locale.ROOT, "%s | %s | %d | %.3f | %s | %.1f%n", dataset, PHASES[p], n,
+                        seconds * 1e3, seconds > 0 ? String.format(Locale.ROOT, "%.0f", n / seconds) : "n/a",
+                        meters[p].peakBytes / (1024.0 * 1024.0));
+            }
+        }
+    }
+
+
+    private static final class Output {
+        private final String format;
+        private final OutputStream out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private int written;
+
+        Output(String format, OutputStream out) {
+            this.format = format;
+            this.out = new BufferedOutputStream(out, 1 << 16);
+        }
+
+
+        void begin() throws IOException {
+            if (format.equals("json")) text("[");
+        }
+
+
+        void dataset(String name, long points, double area, long[] indices, List<Point> hull) throws IOException {
+            switch (format) {
+                case "csv": {
+                    StringBuilder sb = new StringBuilder();
+                    sb.append("# ").append(name).append(", ").append(points).append(" points, ")
+                            .append(hull.size()).append(" hull vertices, area ").append(area).append('\n');
+                    for (Point p : hull) sb.append(p.x).append(',').append(p.y).append('\n');
+                    text(sb.append('\n').toString());
+                    break;
+                }
+                case "json": {
+                    StringBuilder sb = new StringBuilder(written == 0 ? "\n" : ",\n");
+                    sb.append("  {\"dataset\": ").append(quote(name)).append(", \"points\": ").append(points)
+                            .append(", \"area\": ").append(number(area)).append(", \"indices\": [");
+                    for (int i = 0; i < indices.length; i++) sb.append(i == 0 ? "" : ", ").append(indices[i]);
+                    sb.append("], \"hull\": [");
+                    for (int i = 0; i < hull.size(); i++) {
+                        Point p = hull.get(i);
+                        sb.append(i == 0 ? "[" : ", [").append(number(p.x)).append(", ").append(number(p.y)).append(']');
+                    }
+                    text(sb.append("]}").toString());
+                    break;
+                }
+                default: {
+                    buffer.putLong(hull.size()).putDouble(area);
+                    for (Point p : hull) {
+                        if (buffer.remaining() < MappedPointFile.BYTES_PER_POINT) drain();
+                        buffer.putDouble(p.x).putDouble(p.y);
+                    }
+                    drain();
+                }
+            }
+            written++;
+        }
+
+
+        void end() throws IOException {
+            if (format.equals("json")) text(written == 0 ? "]\n" : "\n]\n");
+            out.flush();
+        }
+
+
+        private void text(String s) throws IOException {
+            out.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+
+        private void drain() throws IOException {
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+
+
+        // JSON has no NaN or infinities
+        private static String number(double value) {
+            return Double.isFinite(value) ? Double.toString(value) : "null";
+        }
+
+
+        private static String quote(String s) {
+            StringBuilder sb = new StringBuilder("\"");
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') sb.append('\\').append(c);
+                else if (c < ' ') sb.append(String.format("\\u%04x", (int) c));
+                else sb.append(c);
+            }
+            return sb.append('"').toString();
+        }
+    }
+}
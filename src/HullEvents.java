@@ -0,0 +1,186 @@
+import java.util.Arrays;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// JDK Flight Recorder events for QuickHull runs. While a recording has them enabled,
+// QuickHull.computeHull emits one quickhull.Hull event per call (its duration is the
+// whole call), one quickhull.Phase event per phase and one quickhull.Level event per
+// recursion depth. Otherwise nothing is attached and nothing is measured.
+//
+//   java -XX:StartFlightRecording=filename=hull.jfr ...
+//   jfr print --events quickhull.Hull hull.jfr
+final class HullEvents {
+    // Looked up once; asking the type costs no allocation on calls without a recording
+    private static final EventType HULL_EVENT = EventType.getEventType(HullEvent.class);
+
+    private HullEvents() {
+    }
+
+
+    // The listener a run should use: listener itself (may be null) while the events are
+    // disabled, otherwise one that records them and forwards everything to listener
+    static HullListener listener(HullListener listener) {
+        if (!HULL_EVENT.isEnabled()) return listener;
+        return new Recorder(listener);
+    }
+
+
+    @Name("quickhull.Hull")
+    @Label("Convex Hull")
+    @Category("QuickHull")
+    @Description("One QuickHull.computeHull call")
+    static final class HullEvent extends Event {
+        @Label("Points")
+        int points;
+
+        @Label("Candidates")
+        @Description("Points left after the prefilter")
+        int candidates;
+
+        @Label("Hull Size")
+        int hullSize;
+
+        @Label("Max Depth")
+        int maxDepth;
+
+        @Label("Triangles")
+        long triangles;
+
+        @Label("Scanned")
+        @Description("Candidates scanned over all partition steps")
+        long scanned;
+
+        @Label("Discarded")
+        @Description("Points dropped by the partition steps")
+        long discarded;
+    }
+
+
+    @Name("quickhull.Phase")
+    @Label("Convex Hull Phase")
+    @Category("QuickHull")
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+    }
+
+
+    @Name("quickhull.Level")
+    @Label("Convex Hull Recursion Level")
+    @Category("QuickHull")
+    @Description("Partition steps of one recursion depth, depth 0 is the split into halves")
+    static final class LevelEvent extends Event {
+        @Label("Depth")
+        int depth;
+
+        @Label("Triangles")
+        long triangles;
+
+        @Label("Scanned")
+        long scanned;
+
+        @Label("Discarded")
+        long discarded;
+    }
+
+
+    private static final class Recorder implements HullListener {
+        private final HullListener next;
+        private final HullEvent hull = new HullEvent();
+
+        // Per recursion depth
+        private long[] triangles = new long[16];
+        private long[] scanned = new long[16];
+        private long[] discarded = new long[16];
+
+        Recorder(HullListener next) {
+            this.next = next;
+        }
+
+
+        @Override
+        public void started(int points) {
+            hull.begin();
+            hull.points = points;
+            hull.candidates = points;
+            if (next != null) next.started(points);
+        }
+
+
+        @Override
+        public void phaseFinished(Phase phase, long nanos) {
+            PhaseEvent event = new PhaseEvent();
+            if (event.isEnabled()) {
+                event.phase = phase.name();
+                event.time = nanos;
+                event.commit();
+            }
+            if (next != null) next.phaseFinished(phase, nanos);
+        }
+
+
+        @Override
+        public void prefiltered(int points, int kept) {
+            hull.candidates = kept;
+            if (next != null) next.prefiltered(points, kept);
+        }
+
+
+        @Override
+        public void triangle(int depth, int scanned, int discarded) {
+            if (depth >= triangles.length) {
+                int length = Math.max(depth + 1, 2 * triangles.length);
+                triangles = Arrays.copyOf(triangles, length);
+                this.scanned = Arrays.copyOf(this.scanned, length);
+                this.discarded = Arrays.copyOf(this.discarded, length);
+            }
+            triangles[depth]++;
+            this.scanned[depth] += scanned;
+            this.discarded[depth] += discarded;
+            if (next != null) next.triangle(depth, scanned, discarded);
+        }
+
+
+        @Override
+        public void fallback(int depth, int candidates) {
+            if (next != null) next.fallback(depth, candidates);
+        }
+
+
+        @Override
+        public void finished(int hullSize, int maxDepth) {
+            hull.end();
+            if (hull.shouldCommit()) {
+                hull.hullSize = hullSize;
+                hull.maxDepth = maxDepth;
+                for (int d = 0; d < triangles.length; d++) {
+                    hull.triangles += triangles[d];
+                    hull.scanned += scanned[d];
+                    hull.discarded += discarded[d];
+                }
+                hull.commit();
+            }
+
+            for (int d = 0; d < triangles.length && triangles[d] > 0; d++) {
+                LevelEvent level = new LevelEvent();
+                if (!level.isEnabled()) break;
+                level.depth = d;
+                level.triangles = triangles[d];
+                level.scanned = scanned[d];
+                level.discarded = discarded[d];
+                level.commit();
+            }
+            if (next != null) next.finished(hullSize, maxDepth);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Queries against a hull in O(log h): containment, the extreme vertex in a direction and
+// the tangents from an outside point. The hull must be counter-clockwise and strictly
+// convex, as QuickHull returns it; vertices are reported as positions in that order.
+// Containment and tangents binary search the fan of triangles around vertex 0 with the
+// filter of Orientation and its exact fallback, so they are exact; extreme vertices
+// binary search the angles of the edge normals. Instances are immutable and can be
+// shared between threads.
+public final class HullIndex {
+    // Roughly this many queries go into one task of the batched calls
+    private static final int QUERIES_PER_TASK = 1 << 14;
+
+    private final double[] xs;
+    private final double[] ys;
+
+    // Angle of the outward normal of edge i (vertex i to i + 1), increasing from edge 0
+    private final double[] normalAngles;
+
+
+    public HullIndex(List<Point> hull) {
+        this(QuickHull.xsOf(hull), QuickHull.ysOf(hull));
+    }
+
+
+    // hull holds indices into xs/ys, as computeHull returns them
+    public HullIndex(double[] xs, double[] ys, int[] hull) {
+        this(gather(xs, hull), gather(ys, hull));
+    }
+
+
+    private HullIndex(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        int h = xs.length;
+        for (int i = 0; i < h; i++) {
+            if (!Double.isFinite(xs[i]) || !Double.isFinite(ys[i]))
+                throw new IllegalArgumentException("Hull vertex " + i + " is not finite");
+        }
+        if (h >= 3) {
+            for (int i = 0; i < h; i++) {
+                int j = (i + 1) % h, k = (i + 2) % h;
+                if (Orientation.orientation(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]) <= 0)
+                    throw new IllegalArgumentException("Hull is not strictly convex counter-clockwise at vertex " + j);
+            }
+        }
+
+        normalAngles = new double[h];
+        for (int i = 0; i < h; i++) {
+            int j = (i + 1) % h;
+            double angle = Math.atan2(-(xs[j] - xs[i]), ys[j] - ys[i]);
+            while (i > 0 && angle < normalAngles[i - 1]) angle += 2 * Math.PI;
+            normalAngles[i] = angle;
+        }
+    }
+
+
+    private static double[] gather(double[] values, int[] hull) {
+        if (values == null || hull == null)
+            throw new IllegalArgumentException("Array is null");
+
+        double[] gathered = new double[hull.length];
+        for (int i = 0; i < hull.length; i++) gathered[i] = values[Objects.checkIndex(hull[i], values.length)];
+        return gathered;
+    }
+
+
+    public int size() {
+        return xs.length;
+    }
+
+
+    public double x(int vertex) {
+        return xs[vertex];
+    }
+
+
+    public double y(int vertex) {
+        return ys[vertex];
+    }
+
+
+    // True for points inside the hull or on its boundary
+    public boolean contains(double x, double y) {
+        int h = xs.length;
+        if (!Double.isFinite(x) || !Double.isFinite(y)) return false;
+        if (h < 3) return onSegment(x, y);
+        return locate(x, y) < 0;
+    }
+
+
+    // Vertex with the largest projection onto (dx, dy); either end on an edge
+    // perpendicular to it, any vertex for (0, 0)
+    public int extreme(double dx, double dy) {
+        int h = xs.length;
+        if (h == 0) throw new IllegalStateException("Hull is empty");
+        if (h < 3) return h == 2 && dx * (xs[1] - xs[0]) + dy * (ys[1] - ys[0]) > 0 ? 1 : 0;
+
+        // Vertex i is extreme for the normals between those of edges i - 1 and i
+        double first = normalAngles[0];
+        double angle = Math.atan2(dy, dx);
+        while (angle < first) angle += 2 * Math.PI;
+        while (angle >= first + 2 * Math.PI) angle -= 2 * Math.PI;
+        int lo = 0, hi = h;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (normalAngles[mid] < angle) lo = mid + 1;
+            else hi = mid;
+        }
+        int best = lo % h;
+
+        // The angles are rounded, a near tie may need a step to a neighbour
+        while (dot(next(best), dx, dy) > dot(best, dx, dy)) best = next(best);
+        while (dot(previous(best), dx, dy) > dot(best, dx, dy)) best = previous(best);
+        return best;
+    }
+
+
+    // The two vertices where the tangents from (x, y) touch the hull, as {first, last}
+    // of the chain of edges visible from the point in counter-clockwise order; {-1, -1}
+    // if the point is in the hull or not finite
+    public int[] tangents(double x, double y) {
+        int[] out = new int[2];
+        tangents(x, y, out, 0);
+        return out;
+    }
+
+
+    private void tangents(double x, double y, int[] out, int at) {
+        int h = xs.length;
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            if (h == 0) throw new IllegalStateException("Hull is empty");
+            out[at] = out[at + 1] = -1;
+            return;
+        }
+        if (h < 3) {
+            segmentTangents(x, y, out, at);
+            return;
+        }
+        int visible = locate(x, y);
+        if (visible < 0) {
+            out[at] = out[at + 1] = -1;
+            return;
+        }
+
+        // An edge at the vertex extreme along the line from the point through the visible
+        // edge's midpoint faces away from the point
+        double dx = (xs[visible] + xs[next(visible)]) / 2 - x;
+        double dy = (ys[visible] + ys[next(visible)]) / 2 - y;
+        int hidden = extreme(dx, dy);
+        if (isVisible(hidden, x, y)) hidden = previous(hidden);
+        for (int i = 0; i < h && isVisible(hidden, x, y); i++) hidden = next(hidden);
+
+        // Visible edges form one run, so both of its ends can be binary searched
+        int lo = 0, hi = Math.floorMod(visible - hidden, h);
+        while (lo + 1 < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (isVisible((hidden + mid) % h, x, y)) hi = mid;
+            else lo = mid;
+        }
+        out[at] = (hidden + hi) % h;
+        lo = 0;
+        hi = Math.floorMod(hidden - visible, h);
+        while (lo + 1 < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (isVisible((visible + mid) % h, x, y)) lo = mid;
+            else hi = mid;
+        }
+        out[at + 1] = (visible + hi) % h;
+    }
+
+
+    // -1 if (x, y) is in the hull, else an edge it lies strictly outside of. Searched with
+    // rounded cross products first; if any of them was too close to zero to trust its
+    // sign, again with Orientation.
+    private int locate(double x, double y) {
+        int h = xs.length;
+        double x0 = xs[0], y0 = ys[0];
+        double first = certainCross(x0, y0, xs[1], ys[1], x, y);
+        if (first < 0) return 0;
+        double last = certainCross(x0, y0, xs[h - 1], ys[h - 1], x, y);
+        if (last > 0) return h - 1;
+        boolean unsure = Double.isNaN(first) | Double.isNaN(last);
+
+        int lo = 1, hi = h - 1;
+        while (lo + 1 < hi) {
+            int mid = (lo + hi) >>> 1;
+            double d = certainCross(x0, y0, xs[mid], ys[mid], x, y);
+            unsure |= Double.isNaN(d);
+            if (d >= 0) lo = mid;
+            else hi = mid;
+        }
+        double edge = certainCross(xs[lo], ys[lo], xs[lo + 1], ys[lo + 1], x, y);
+        if (unsure || Double.isNaN(edge)) return locateExactly(x, y);
+        return edge < 0 ? lo : -1;
+    }
+
+
+    private int locateExactly(double x, double y) {
+        int h = xs.length;
+        if (Orientation.orientation(xs[0], ys[0], xs[1], ys[1], x, y) < 0) return 0;
+        if (Orientation.orientation(xs[0], ys[0], xs[h - 1], ys[h - 1], x, y) > 0) return h - 1;
+
+        // Last fan edge from vertex 0 the point is not right of
+        int lo = 1, hi = h - 1;
+        while (lo + 1 < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Orientation.orientation(xs[0], ys[0], xs[mid], ys[mid], x, y) >= 0) lo = mid;
+            else hi = mid;
+        }
+        return isVisible(lo, x, y) ? lo : -1;
+    }
+
+
+    // QuickHull.cross where the error bound of Orientation proves its sign, NaN elsewhere
+    private static double certainCross(double ax, double ay, double bx, double by, double cx, double cy) {
+        double left = (bx - ax) * (cy - ay);
+        double right = (by - ay) * (cx - ax);
+        double det = left - right;
+        double bound = Orientation.usable(Orientation.ERROR_BOUND * (Math.abs(left) + Math.abs(right)));
+        return Math.abs(det) > bound ? det : Double.NaN;
+    }
+
+
+    private boolean isVisible(int edge, double x, double y) {
+        int j = next(edge);
+        double d = certainCross(xs[edge], ys[edge], xs[j], ys[j], x, y);
+        if (Double.isNaN(d)) return Orientation.orientation(xs[edge], ys[edge], xs[j], ys[j], x, y) < 0;
+        return d < 0;
+    }
+
+
+    private boolean onSegment(double x, double y) {
+        int h = xs.length;
+        if (h == 0) return false;
+        int last = h - 1;
+        return Orientation.orientation(xs[0], ys[0], xs[last], ys[last], x, y) == 0
+                && Math.min(xs[0], xs[last]) <= x && x <= Math.max(xs[0], xs[last])
+                && Math.min(ys[0], ys[last]) <= y && y <= Math.max(ys[0], ys[last]);
+    }
+
+
+    // A single vertex or a segment: both ends unless the point is on the line through it
+    private void segmentTangents(double x, double y, int[] out, int at) {
+        int h = xs.length;
+        if (h == 0) throw new IllegalStateException("Hull is empty");
+        if (onSegment(x, y)) {
+            out[at] = out[at + 1] = -1;
+            return;
+        }
+        if (h == 1) {
+            out[at] = out[at + 1] = 0;
+            return;
+        }
+        int side = Orientation.orientation(xs[0], ys[0], xs[1], ys[1], x, y);
+        if (side < 0) {
+            out[at] = 0;
+            out[at + 1] = 1;
+        } else if (side > 0) {
+            out[at] = 1;
+            out[at + 1] = 0;
+        } else {
+            // On the line beyond one end, which is nearer than the other
+            int near = Math.abs(x - xs[0]) + Math.abs(y - ys[0]) < Math.abs(x - xs[1]) + Math.abs(y - ys[1]) ? 0 : 1;
+            out[at] = out[at + 1] = near;
+        }
+    }
+
+
+    private double dot(int vertex, double dx, double dy) {
+        return xs[vertex] * dx + ys[vertex] * dy;
+    }
+
+
+    private int next(int vertex) {
+        return vertex + 1 == xs.length ? 0 : vertex + 1;
+    }
+
+
+    private int previous(int vertex) {
+        return vertex == 0 ? xs.length - 1 : vertex - 1;
+    }
+
+
+    // Batched queries: the result for query i (offset <= i < offset + length) goes to
+    // out[i], the tangents to out[2 * i] and out[2 * i + 1]. Split into tasks on the
+    // common pool, or on the given executor.
+    public void contains(double[] qxs, double[] qys, int offset, int length, boolean[] out) {
+        contains(qxs, qys, offset, length, out, ForkJoinPool.commonPool());
+    }
+
+
+    public void contains(double[] qxs, double[] qys, int offset, int length, boolean[] out,
+                         ExecutorService executor) {
+        QuickHull.checkRange(qxs, qys, offset, length);
+        if (out == null)
+            throw new IllegalArgumentException("Array is null");
+        Objects.checkFromIndexSize(offset, length, out.length);
+        run(offset, length, executor, (from, to) -> {
+            for (int i = from; i < to; i++) out[i] = contains(qxs[i], qys[i]);
+        });
+    }
+
+
+    public void extremes(double[] dxs, double[] dys, int offset, int length, int[] out) {
+        extremes(dxs, dys, offset, length, out, ForkJoinPool.commonPool());
+    }
+
+
+    public void extremes(double[] dxs, double[] dys, int offset, int length, int[] out,
+                         ExecutorService executor) {
+        QuickHull.checkRange(dxs, dys, offset, length);
+        if (out == null)
+            throw new IllegalArgumentException("Array is null");
+        Objects.checkFromIndexSize(offset, length, out.length);
+        if (xs.length == 0 && length > 0)
+            throw new IllegalStateException("Hull is empty");
+        run(offset, length, executor, (from, to) -> {
+            for (int i = from; i < to; i++) out[i] = extreme(dxs[i], dys[i]);
+        });
+    }
+
+
+    public void tangents(double[] qxs, double[] qys, int offset, int length, int[] out) {
+        tangents(qxs, qys, offset, length, out, ForkJoinPool.commonPool());
+    }
+
+
+    public void tangents(double[] qxs, double[] qys, int offset, int length, int[] out,
+                         ExecutorService executor) {
+        QuickHull.checkRange(qxs, qys, offset, length);
+        if (out == null)
+            throw new IllegalArgumentException("Array is null");
+        Objects.checkFromIndexSize(2L * offset, 2L * length, out.length);
+        if (xs.length == 0 && length > 0)
+            throw new IllegalStateException("Hull is empty");
+        run(offset, length, executor, (from, to) -> {
+            for (int i = from; i < to; i++) tangents(qxs[i], qys[i], out, 2 * i);
+        });
+    }
+
+
+    private interface Range {
+        void run(int from, int to);
+    }
+
+
+    private static void run(int offset, int length, ExecutorService executor, Range range) {
+        if (executor == null)
+            throw new IllegalArgumentException("Executor is null");
+
+        if (length <= QUERIES_PER_TASK) {
+            range.run(offset, offset + length);
+            return;
+        }
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int from = offset; from < offset + length; from += QUERIES_PER_TASK) {
+            int start = from;
+            int end = Math.min(from + QUERIES_PER_TASK, offset + length);
+            tasks.add(executor.submit(() -> range.run(start, end)));
+        }
+
+        try {
+            for (Future<?> task : tasks) task.get();
+        } catch (InterruptedException e) {
+            for (Future<?> task : tasks) task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running queries", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// Observer for a single QuickHull run, passed to QuickHull.computeHull. Every method has
+// an empty default, so a listener overrides only what it needs; without a listener the
+// engine skips the calls and the timing altogether.
+// Calls come from the computing thread, in order: started, then the phases and triangles
+// as they happen, then finished.
+public interface HullListener {
+    enum Phase {
+        PREFILTER,      // Akl–Toussaint pass, only with a prefilter
+        EXTREMES,       // search for the points with the smallest and largest x
+        SPLIT,          // partition into lower and upper half
+        RECURSION       // all findHull steps together
+    }
+
+
+    default void started(int points) {
+    }
+
+
+    default void phaseFinished(Phase phase, long nanos) {
+    }
+
+
+    // The prefilter kept this many of the input points
+    default void prefiltered(int points, int kept) {
+    }
+
+
+    // One partition step at the given recursion depth (0 for the split into halves):
+    // it scanned this many candidates and dropped this many inside the triangle, or on
+    // the line for depth 0
+    default void triangle(int depth, int scanned, int discarded) {
+    }
+
+
+    // Past the depth limit, findHull built the chain over this many candidates with the
+    // monotone chain instead of partitioning further
+    default void fallback(int depth, int candidates) {
+    }
+
+
+    default void finished(int hullSize, int maxDepth) {
+    }
+}
@@ -0,0 +1,34 @@
+// Measures of a hull from RotatingCalipers. Vertices are positions in the hull order.
+public class HullMetrics {
+    public final double area;
+    public final double diameter;       // largest distance between two vertices
+    public final int diameterFrom;
+    public final int diameterTo;
+    public final double width;          // smallest distance between two parallel supporting lines
+    public final int widthEdge;         // the edge from this vertex to the next lies on one of them
+    public final int widthVertex;       // and this vertex on the other
+    public final double rectangleArea;  // smallest enclosing rectangle, one side on a hull edge
+    public final double[] rectangleXs;  // its corners, counter-clockwise
+    public final double[] rectangleYs;
+
+    HullMetrics(double area, double diameter, int diameterFrom, int diameterTo,
+                double width, int widthEdge, int widthVertex,
+                double rectangleArea, double[] rectangleXs, double[] rectangleYs) {
+        this.area = area;
+        this.diameter = diameter;
+        this.diameterFrom = diameterFrom;
+        this.diameterTo = diameterTo;
+        this.width = width;
+        this.widthEdge = widthEdge;
+        this.widthVertex = widthVertex;
+        this.rectangleArea = rectangleArea;
+        this.rectangleXs = rectangleXs;
+        this.rectangleYs = rectangleYs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HullMetrics(area %.4f, diameter %.4f, width %.4f, rectangle %.4f)",
+                area, diameter, width, rectangleArea);
+    }
+}
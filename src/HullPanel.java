@@ -1,9 +1,20 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
 
 public class HullPanel extends JPanel {
     private static final Color COL_BACKGROUND = new Color(250, 250, 252);
@@ -19,9 +30,24 @@ public class HullPanel extends JPanel {
     private static final Color COL_TRIANGLE = new Color(255, 230, 0, 55);
 
     private static final int MARGIN = 55;   // px around the drawing area
-    private static final float LOGICAL_MAX = 10f;  // logical coordinate range
+    private static final double ZOOM_STEP = 1.2;   // view scale per mouse wheel notch
+
+    // Point sets up to this size are drawn as circles, larger ones as a density raster
+    private static final int MAX_CIRCLES = 50_000;
+    // More points in view than this are aggregated per grid cell even where cells are
+    // larger than a pixel
+    private static final int MAX_PLOTTED = 1_000_000;
+    // Coverage (0–255) of a point circle on its 8×8 pixels, stamped into the point layer
+    private static final int[] POINT_SPRITE = circleCoverage(4);
 
     private List<Point> points = new ArrayList<>();
+    // Coordinates of points and their grid index, replaced (never modified) with the data
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private PointGrid grid = new PointGrid(xs, ys, 0);
+
+    // Logical rectangle shown in the drawing area inside the margins
+    private double viewX = 0, viewY = 0, viewW = 10, viewH = 10;
     private List<Point> fastHull = new ArrayList<>();
     private double area = 0.0;
 
@@ -29,12 +55,65 @@ public class HullPanel extends JPanel {
     private javax.swing.Timer animTimer = null;
     private boolean animDone = false;
 
+    // Background computation in progress, if any
+    private SwingWorker<?, ?> worker = null;
+
+    // Points in view, rendered once per data set, view and panel size
+    private BufferedImage pointLayer = null;
+    private boolean pointLayerValid = false;
+    private int[] density = new int[0];
+    // Scratch raster for large overlay point sets, reused between paints
+    private BufferedImage overlay = null;
+    private final Ellipse2D.Double circle = new Ellipse2D.Double();
+
     public HullPanel() {
         setBackground(COL_BACKGROUND);
+
+        // Wheel zooms around the cursor, dragging pans, a double click fits the data
+        MouseAdapter navigation = new MouseAdapter() {
+            private int lastX, lastY;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                viewX -= (e.getX() - lastX) / scaleX();
+                viewY += (e.getY() - lastY) / scaleY();
+                lastX = e.getX();
+                lastY = e.getY();
+                viewChanged();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(ZOOM_STEP, e.getPreciseWheelRotation());
+                double wx = worldX(e.getX()), wy = worldY(e.getY());
+                viewX = wx - (wx - viewX) * factor;
+                viewY = wy - (wy - viewY) * factor;
+                viewW *= factor;
+                viewH *= factor;
+                viewChanged();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitView();
+                    viewChanged();
+                }
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
     }
 
     public void generatePoints(int count) {
-        stopAnimation();
+        cancel();
         points.clear();
         fastHull.clear();
         area = 0.0;
@@ -45,11 +124,15 @@ public class HullPanel extends JPanel {
         for (int i = 0; i < count; i++) {
             points.add(new Point(0.8 + rng.nextDouble() * 8.4, 0.8 + rng.nextDouble() * 8.4));
         }
-        repaint();
+        xs = QuickHull.xsOf(points);
+        ys = QuickHull.ysOf(points);
+        grid = new PointGrid(xs, ys, xs.length);
+        fitView();
+        viewChanged();
     }
 
     public void clear() {
-        stopAnimation();
+        cancel();
         fastHull.clear();
         area = 0.0;
         animDone = false;
@@ -57,37 +140,93 @@ public class HullPanel extends JPanel {
         repaint();
     }
 
-    public void startAnimation(int delayMs) {
+    // The step log is recorded in the background; onDone gets the area once the
+    // animation has reached the final hull, onFailed the message if recording fails
+    public void startAnimation(int delayMs, DoubleConsumer onDone, Consumer<String> onFailed) {
         if (points.isEmpty()) return;
-        stopAnimation();
+        cancel();
         fastHull.clear();
         area = 0.0;
         animDone = false;
-        animator = new QuickHullAnimator(points);
-
-        animTimer = new javax.swing.Timer(delayMs, e -> {
-            boolean finished = animator.nextStep();
-            if (finished) {
-                stopAnimation();
-                animDone = true;
-                area = PolygonArea.computeArea(animator.getHullPoints());
+        animator = null;
+
+        List<Point> input = new ArrayList<>(points);
+        SwingWorker<QuickHullAnimator, Void> recording = new SwingWorker<>() {
+            @Override
+            protected QuickHullAnimator doInBackground() {
+                return new QuickHullAnimator(input);
             }
-            repaint();
-        });
-        animTimer.start();
-        repaint();
+
+            @Override
+            protected void done() {
+                if (worker != this || isCancelled()) return;
+                worker = null;
+                animator = result(this, onFailed);
+                if (animator == null) return;
+                animTimer = new javax.swing.Timer(delayMs, e -> {
+                    boolean finished = animator.nextStep();
+                    if (finished) {
+                        stopAnimation();
+                        animDone = true;
+                        area = PolygonArea.computeArea(animator.getHullPoints());
+                        onDone.accept(area);
+                    }
+                    repaint();
+                });
+                animTimer.start();
+                repaint();
+            }
+        };
+        worker = recording;
+        recording.execute();
     }
 
-    public void computeFast() {
-        stopAnimation();
+    // Computes the hull in the background. onProgress gets 0..100 as points are
+    // settled, onDone the area, onFailed the message of a failure; none is called
+    // after cancel()
+    public void computeFast(IntConsumer onProgress, DoubleConsumer onDone, Consumer<String> onFailed) {
+        cancel();
         animator = null;
         animDone = false;
-        fastHull = QuickHull.computeHull(points);
-        area = PolygonArea.computeArea(fastHull);
+        fastHull.clear();
+        area = 0.0;
 
+        HullWorker computation = new HullWorker(xs, ys) {
+            @Override
+            protected void done() {
+                if (worker != this || isCancelled()) return;
+                worker = null;
+                HullResult result = result(this, onFailed);
+                if (result == null) return;
+                fastHull = result.select(points);
+                area = result.area;
+                onDone.accept(area);
+                repaint();
+            }
+        };
+        computation.addPropertyChangeListener(e -> {
+            if (worker == computation && "progress".equals(e.getPropertyName())) {
+                onProgress.accept((Integer) e.getNewValue());
+            }
+        });
+        worker = computation;
+        computation.execute();
         repaint();
     }
 
+    // Stops a running computation or animation
+    public void cancel() {
+        if (worker != null) {
+            worker.cancel(true);
+            worker = null;
+        }
+        stopAnimation();
+    }
+
+    public boolean isBusy() {
+        return worker != null || animTimer != null;
+    }
+
     public double getArea() {
         return area;
     }
@@ -111,15 +250,27 @@ public class HullPanel extends JPanel {
         drawInfoOverlay(g2);
     }
 
+    // About ten lines per axis at round coordinates, like the fixed 0–10 grid at the start
     private void drawGrid(Graphics2D g2) {
         g2.setColor(COL_GRID);
         g2.setStroke(new BasicStroke(0.5f));
-        for (int i = 0; i <= 10; i++) {
-            g2.drawLine(sx(i), sy(0), sx(i), sy(10));
-            g2.drawLine(sx(0), sy(i), sx(10), sy(i));
+        double stepX = gridStep(viewW), stepY = gridStep(viewH);
+        for (long i = (long) Math.ceil(viewX / stepX); i * stepX <= viewX + viewW; i++) {
+            g2.drawLine(sx(i * stepX), sy(viewY), sx(i * stepX), sy(viewY + viewH));
+        }
+        for (long i = (long) Math.ceil(viewY / stepY); i * stepY <= viewY + viewH; i++) {
+            g2.drawLine(sx(viewX), sy(i * stepY), sx(viewX + viewW), sy(i * stepY));
         }
     }
 
+    // 1, 2 or 5 times a power of ten, at least a tenth of extent
+    private static double gridStep(double extent) {
+        double raw = extent / 10;
+        double power = Math.pow(10, Math.floor(Math.log10(raw)));
+        double m = raw / power;
+        return (m <= 1 ? 1 : m <= 2 ? 2 : m <= 5 ? 5 : 10) * power;
+    }
+
     private void drawAnimationState(Graphics2D g2) {
 
         Point pMinX = animator.minX;
@@ -142,15 +293,8 @@ public class HullPanel extends JPanel {
             g2.fillPolygon(xs, ys, 3);
         }
 
-        g2.setColor(COL_DISCARDED);
-        for (Point p : animator.getDiscardedPoints()) {
-            drawCircle(g2, p, 4);
-        }
-
-        g2.setColor(COL_CANDIDATE);
-        for (Point p : animator.getCandidatePoints()) {
-            if (p != cf) drawCircle(g2, p, 5);
-        }
+        drawPointSet(g2, animator.getDiscardedPoints(), COL_DISCARDED, 4, null);
+        drawPointSet(g2, animator.getCandidatePoints(), COL_CANDIDATE, 5, cf);
 
         g2.setColor(COL_HULL_EDGE);
         g2.setStroke(solid(2.5f));
@@ -194,8 +338,149 @@ public class HullPanel extends JPanel {
     }
 
     private void drawAllPoints(Graphics2D g2) {
-        g2.setColor(COL_POINT);
-        for (Point p : points) drawCircle(g2, p, 4);
+        if (grid.size() == 0) return;
+        int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+        if (pointLayer == null || pointLayer.getWidth() != w || pointLayer.getHeight() != h) {
+            pointLayer = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            pointLayerValid = false;
+        }
+        if (!pointLayerValid) {
+            renderPointLayer();
+            pointLayerValid = true;
+        }
+        g2.drawImage(pointLayer, 0, 0, null);
+    }
+
+    // Visits only the grid cells in view: their points as circles while there are few,
+    // otherwise a density raster, taken from whole cells once a cell fits into a pixel
+    private void renderPointLayer() {
+        int w = pointLayer.getWidth(), h = pointLayer.getHeight();
+        int[] pixels = ((DataBufferInt) pointLayer.getRaster().getDataBuffer()).getData();
+        Arrays.fill(pixels, 0);
+
+        // The whole panel, margins included, plus a circle radius
+        double x0 = worldX(-4), x1 = worldX(w + 4);
+        double y0 = worldY(h + 4), y1 = worldY(-4);
+        int visible = grid.countIn(x0, y0, x1, y1);
+        if (visible <= MAX_CIRCLES) {
+            int rgb = COL_POINT.getRGB() & 0xFFFFFF;
+            grid.forEach(x0, y0, x1, y1, i -> stamp(pixels, w, h, sx(xs[i]) - 4, sy(ys[i]) - 4, rgb));
+            return;
+        }
+
+        if (density.length != w * h) density = new int[w * h];
+        int[] counts = density;
+        Arrays.fill(counts, 0);
+        int level = grid.level(1 / scaleX(), 1 / scaleY());
+        if (level < 0 && visible > MAX_PLOTTED) level = 0;
+        if (level >= 0) {
+            double halfW = grid.cellWidth(level) / 2, halfH = grid.cellHeight(level) / 2;
+            grid.forEachCell(level, x0, y0, x1, y1, (x, y, count) ->
+                    plotCell(counts, w, h, x - halfW, y - halfH, x + halfW, y + halfH, count));
+        } else {
+            grid.forEach(x0, y0, x1, y1, i -> plot(counts, w, h, xs[i], ys[i], 1));
+        }
+        shade(counts, pixels, COL_POINT);
+    }
+
+    private void plot(int[] counts, int w, int h, double x, double y, int count) {
+        double px = Math.floor(sxd(x)), py = Math.floor(syd(y));
+        if (px >= 0 && px < w && py >= 0 && py < h) counts[(int) py * w + (int) px] += count;
+    }
+
+    // Spreads count evenly over the pixels of a cell, or puts it into the one pixel
+    // of its center if the cell is smaller
+    private void plotCell(int[] counts, int w, int h, double x0, double y0, double x1, double y1, int count) {
+        int px0 = (int) Math.max(0, Math.floor(sxd(x0))), px1 = (int) Math.min(w, Math.floor(sxd(x1)));
+        int py0 = (int) Math.max(0, Math.floor(syd(y1))), py1 = (int) Math.min(h, Math.floor(syd(y0)));
+        if (px1 - px0 <= 1 && py1 - py0 <= 1) {
+            plot(counts, w, h, (x0 + x1) / 2, (y0 + y1) / 2, count);
+            return;
+        }
+        int share = Math.max(1, count / (Math.max(1, px1 - px0) * Math.max(1, py1 - py0)));
+        for (int py = py0; py < Math.max(py1, py0 + 1) && py < h; py++) {
+            for (int px = px0; px < Math.max(px1, px0 + 1) && px < w; px++) counts[py * w + px] += share;
+        }
+    }
+
+    // Draws POINT_SPRITE with its top left corner at (x, y), blending over the layer.
+    // The layer holds a single color, so only the alpha channel changes.
+    private static void stamp(int[] pixels, int w, int h, int x, int y, int rgb) {
+        for (int j = 0; j < 8; j++) {
+            int py = y + j;
+            if (py < 0 || py >= h) continue;
+            for (int i = 0; i < 8; i++) {
+                int px = x + i;
+                int a = POINT_SPRITE[j * 8 + i];
+                if (px < 0 || px >= w || a == 0) continue;
+                int da = pixels[py * w + px] >>> 24;
+                pixels[py * w + px] = (a + da * (255 - a) / 255) << 24 | rgb;
+            }
+        }
+    }
+
+    // Antialiased disk of radius r on a 2r×2r pixel grid, 4×4 samples per pixel,
+    // as the fill of an Ellipse2D with that frame would come out
+    private static int[] circleCoverage(int r) {
+        int side = 2 * r;
+        int[] coverage = new int[side * side];
+        for (int j = 0; j < side; j++) {
+            for (int i = 0; i < side; i++) {
+                int inside = 0;
+                for (int sj = 0; sj < 4; sj++) {
+                    for (int si = 0; si < 4; si++) {
+                        double dx = i + (si + 0.5) / 4 - r, dy = j + (sj + 0.5) / 4 - r;
+                        if (dx * dx + dy * dy <= r * r) inside++;
+                    }
+                }
+                coverage[j * side + i] = inside * 255 / 16;
+            }
+        }
+        return coverage;
+    }
+
+    // Points per pixel as opacity on a log scale, so sparse areas stay visible
+    private static void shade(int[] counts, int[] pixels, Color col) {
+        int max = 0;
+        for (int c : counts) max = Math.max(max, c);
+        int rgb = col.getRGB() & 0xFFFFFF;
+        double scale = max > 1 ? 195.0 / Math.log(max) : 0.0;
+        for (int i = 0; i < pixels.length; i++) {
+            int c = counts[i];
+            pixels[i] = c == 0 ? 0 : (60 + (int) (Math.log(c) * scale)) << 24 | rgb;
+        }
+    }
+
+    // Overlay sets change every step, so only the large ones go through a raster
+    private void drawPointSet(Graphics2D g2, List<Point> set, Color col, int r, Point skip) {
+        if (set.size() <= MAX_CIRCLES) {
+            renderPoints(g2, null, set, col, r, skip);
+            return;
+        }
+        if (overlay == null || overlay.getWidth() != getWidth() || overlay.getHeight() != getHeight()) {
+            overlay = new BufferedImage(Math.max(1, getWidth()), Math.max(1, getHeight()), BufferedImage.TYPE_INT_ARGB);
+        }
+        renderPoints(null, overlay, set, col, r, skip);
+        g2.drawImage(overlay, 0, 0, null);
+    }
+
+    // Circles through g2 for small sets, otherwise a density raster written into image
+    private void renderPoints(Graphics2D g2, BufferedImage image, List<Point> set, Color col, int r, Point skip) {
+        if (set.size() <= MAX_CIRCLES) {
+            g2.setColor(col);
+            for (Point p : set) {
+                if (p != skip) drawCircle(g2, p, r);
+            }
+            return;
+        }
+
+        int w = image.getWidth(), h = image.getHeight();
+        if (density.length != w * h) density = new int[w * h];
+        Arrays.fill(density, 0);
+        for (Point p : set) {
+            if (p != skip) plot(density, w, h, p.x, p.y, 1);
+        }
+        shade(density, ((DataBufferInt) image.getRaster().getDataBuffer()).getData(), col);
     }
 
     private void drawInfoOverlay(Graphics2D g2) {
@@ -249,7 +534,12 @@ public class HullPanel extends JPanel {
     }
 
     private void drawCircle(Graphics2D g2, Point p, int r) {
-        g2.fill(new Ellipse2D.Double(sx(p.x) - r, sy(p.y) - r, 2 * r, 2 * r));
+        fillCircle(g2, p.x, p.y, r);
+    }
+
+    private void fillCircle(Graphics2D g2, double x, double y, int r) {
+        circle.setFrame(sx(x) - r, sy(y) - r, 2 * r, 2 * r);
+        g2.fill(circle);
     }
 
     private void drawLabelledPoint(Graphics2D g2, Point p, Color col, int r, String label) {
@@ -261,12 +551,65 @@ public class HullPanel extends JPanel {
 
 
     private int sx(double x) {
-        return (int) (MARGIN + x * (getWidth() - 2.0 * MARGIN) / LOGICAL_MAX);
+        return (int) sxd(x);
     }
 
 
     private int sy(double y) {
-        return (int) (getHeight() - MARGIN - y * (getHeight() - 2.0 * MARGIN) / LOGICAL_MAX);
+        return (int) syd(y);
+    }
+
+
+    private double sxd(double x) {
+        return MARGIN + (x - viewX) * scaleX();
+    }
+
+
+    private double syd(double y) {
+        return getHeight() - MARGIN - (y - viewY) * scaleY();
+    }
+
+
+    private double worldX(double px) {
+        return viewX + (px - MARGIN) / scaleX();
+    }
+
+
+    private double worldY(double py) {
+        return viewY + (getHeight() - MARGIN - py) / scaleY();
+    }
+
+
+    // Pixels per logical unit
+    private double scaleX() {
+        return Math.max(1.0, getWidth() - 2.0 * MARGIN) / viewW;
+    }
+
+
+    private double scaleY() {
+        return Math.max(1.0, getHeight() - 2.0 * MARGIN) / viewH;
+    }
+
+
+    // Bounding box of the points with a little room, the 0–10 square without points
+    private void fitView() {
+        if (grid.size() == 0) {
+            viewX = viewY = 0;
+            viewW = viewH = 10;
+            return;
+        }
+        double w = grid.maxX - grid.minX, h = grid.maxY - grid.minY;
+        double padX = w > 0 ? w * 0.05 : 1.0, padY = h > 0 ? h * 0.05 : 1.0;
+        viewX = grid.minX - padX;
+        viewY = grid.minY - padY;
+        viewW = w + 2 * padX;
+        viewH = h + 2 * padY;
+    }
+
+
+    private void viewChanged() {
+        pointLayerValid = false;
+        repaint();
     }
 
     private static BasicStroke solid(float w) {
@@ -283,4 +626,57 @@ public class HullPanel extends JPanel {
             animTimer = null;
         }
     }
+
+    // Result of a finished worker, or null once its failure went to onFailed
+    private static <T> T result(SwingWorker<T, ?> worker, Consumer<String> onFailed) {
+        try {
+            return worker.get();
+        } catch (InterruptedException | ExecutionException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            onFailed.accept(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    // Hull and area of a snapshot of the points. Progress counts the points whose place
+    // is settled: removed by the prefilter, dropped by a partition step or taken as a
+    // hull vertex. Cancelling aborts the engine at its next partition step.
+    private static class HullWorker extends SwingWorker<HullResult, Void> implements HullListener {
+        private final double[] xs;
+        private final double[] ys;
+        private long settled = 0;
+
+        HullWorker(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        @Override
+        protected HullResult doInBackground() {
+            return QuickHull.computeHullAndArea(xs, ys, 0, xs.length, this);
+        }
+
+        @Override
+        public void prefiltered(int points, int kept) {
+            settle(points - kept);
+        }
+
+        @Override
+        public void triangle(int depth, int scanned, int discarded) {
+            // The split settles minX and maxX, every later step its farthest point
+            settle(discarded + (depth == 0 ? 2 : 1));
+        }
+
+        @Override
+        public void fallback(int depth, int candidates) {
+            // The monotone chain settles all of them at once
+            settle(candidates);
+        }
+
+        private void settle(int count) {
+            if (isCancelled()) throw new CancellationException();
+            settled += count;
+            setProgress((int) Math.min(100, 100 * settled / Math.max(1, xs.length)));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+import java.util.List;
+
+// A hull together with the measures accumulated while it was built
+public class HullResult {
+    public final int[] indices;      // counter-clockwise, into the input coordinates
+    public final double area;
+    public final double perimeter;
+    public final double centroidX;   // area centroid, vertex average for degenerate hulls
+    public final double centroidY;
+
+    public HullResult(int[] indices, double area, double perimeter, double centroidX, double centroidY) {
+        this.indices = indices;
+        this.area = area;
+        this.perimeter = perimeter;
+        this.centroidX = centroidX;
+        this.centroidY = centroidY;
+    }
+
+    public List<Point> select(List<Point> points) {
+        return QuickHull.select(points, indices);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HullResult(%d vertices, area %.4f, perimeter %.4f, centroid (%.2f, %.2f))",
+                indices.length, area, perimeter, centroidX, centroidY);
+    }
+}
@@ -0,0 +1,290 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Convex hull that grows one point at a time. The lower and upper chains are kept
+// in x-sorted maps, so rejecting an interior point and inserting a new vertex both
+// cost O(log h) plus the (amortized constant) vertices it removes.
+public class IncrementalHull {
+    private final TreeMap<Double, Point> lower = new TreeMap<>();
+    private final TreeMap<Double, Point> upper = new TreeMap<>();
+
+    // Shoelace sums over consecutive chain vertices, left to right, taken around the first
+    // point added to the empty hull so that far-off hulls keep their digits
+    private double lowerSum = 0.0;
+    private double upperSum = 0.0;
+    private double originX;
+    private double originY;
+    private long sumUpdates = 0;
+    private long count = 0;
+
+    // The first two points, which are the hull as long as there are no more
+    private final Point[] firstPoints = new Point[2];
+
+    // Optional journal of the chain changes, so that add() can be undone in reverse order:
+    // entry i puts (or removes) journalPoints[i] on the chain journalOps[i] names, and
+    // addStarts holds the journal size at every add() not undone yet
+    private boolean journaling = false;
+    private Point[] journalPoints;
+    private byte[] journalOps;
+    private int journalSize;
+    private int[] addStarts;
+    private int adds;
+
+    // Whether a point equal to a vertex takes its place, so the latest of equal points is
+    // kept instead of the first
+    private boolean replacing = false;
+
+    private static final byte PUT_LOWER = 0, PUT_UPPER = 1, REMOVE_LOWER = 2, REMOVE_UPPER = 3;
+
+
+    public IncrementalHull() {
+    }
+
+
+    // With journaled set, every add() can be taken back with undo(), last one first;
+    // with replacing set, of equal points the latest added stands for the vertex
+    IncrementalHull(boolean journaled, boolean replacing) {
+        this.replacing = replacing;
+        if (journaled) {
+            journaling = true;
+            journalPoints = new Point[16];
+            journalOps = new byte[16];
+            addStarts = new int[16];
+        }
+    }
+
+
+    // Returns true if the hull changed
+    public boolean add(Point p) {
+        if (p == null)
+            throw new IllegalArgumentException("Point is null");
+
+        if (count < 2) firstPoints[(int) count] = p;
+        if (count == 0) {
+            originX = p.x;
+            originY = p.y;
+            lowerSum = 0.0;
+            upperSum = 0.0;
+        }
+        count++;
+        if (journalPoints != null) {
+            if (adds == addStarts.length) addStarts = Arrays.copyOf(addStarts, 2 * adds);
+            addStarts[adds++] = journalSize;
+        }
+        boolean changedLower = insert(lower, p, 1);
+        boolean changedUpper = insert(upper, p, -1);
+
+        // Recompute the sums now and then so rounding from the updates cannot pile up
+        if (sumUpdates > 4L * (lower.size() + upper.size()) + 64) resync();
+        return changedLower || changedUpper;
+    }
+
+
+    // Reverts the latest add() not undone yet, for a journaled hull
+    void undo() {
+        if (journalPoints == null)
+            throw new IllegalStateException("Hull is not journaled");
+        if (adds == 0)
+            throw new IllegalStateException("Nothing to undo");
+
+        int start = addStarts[--adds];
+        journaling = false;
+        while (journalSize > start) {
+            int i = --journalSize;
+            Point p = journalPoints[i];
+            journalPoints[i] = null;
+            switch (journalOps[i]) {
+                case PUT_LOWER -> remove(lower, key(p), 1);
+                case PUT_UPPER -> remove(upper, key(p), -1);
+                case REMOVE_LOWER -> put(lower, key(p), p, 1);
+                default -> put(upper, key(p), p, -1);
+            }
+        }
+        journaling = true;
+        count--;
+        if (count < 2) firstPoints[(int) count] = null;
+        if (sumUpdates > 4L * (lower.size() + upper.size()) + 64) resync();
+    }
+
+
+    // Number of points added so far, including the rejected ones
+    public long size() {
+        return count;
+    }
+
+
+    // Hull vertices counter-clockwise, starting at the point with the smallest x; fewer
+    // than three points are returned as given, like QuickHull.computeHull does
+    public List<Point> getHull() {
+        if (count < 3) {
+            List<Point> given = new ArrayList<>(2);
+            for (int i = 0; i < count; i++) given.add(firstPoints[i]);
+            return given;
+        }
+        return vertices();
+    }
+
+
+    // The vertices of the chains, one for equal points even with fewer than three added
+    List<Point> vertices() {
+        List<Point> hull = new ArrayList<>(lower.size() + upper.size());
+        hull.addAll(lower.values());
+        for (Point p : upper.descendingMap().values()) hull.add(p);
+
+        // The chains share their end points unless the hull has a vertical edge there
+        if (hull.size() > lower.size() && same(hull.get(lower.size() - 1), hull.get(lower.size()))) {
+            hull.remove(lower.size());
+        }
+        if (hull.size() > 1 && same(hull.get(0), hull.get(hull.size() - 1))) {
+            hull.remove(hull.size() - 1);
+        }
+        return hull;
+    }
+
+
+    // PolygonArea.computeArea(getHull()) up to rounding, without walking the hull
+    public double getArea() {
+        if (lower.isEmpty()) return 0.0;
+
+        Point lowerFirst = lower.firstEntry().getValue();
+        Point lowerLast = lower.lastEntry().getValue();
+        Point upperFirst = upper.firstEntry().getValue();
+        Point upperLast = upper.lastEntry().getValue();
+
+        double sum = lowerSum - upperSum + term(lowerLast, upperLast) + term(upperFirst, lowerFirst);
+        return Math.abs(sum) / 2.0;
+    }
+
+
+    private void resync() {
+        lowerSum = chainSum(lower);
+        upperSum = chainSum(upper);
+        sumUpdates = 0;
+    }
+
+
+    private double chainSum(TreeMap<Double, Point> chain) {
+        double sum = 0.0;
+        Point prev = null;
+        for (Point p : chain.values()) {
+            if (prev != null) sum += term(prev, p);
+            prev = p;
+        }
+        return sum;
+    }
+
+
+    // side = 1 keeps the lower chain (interior above), side = -1 the upper chain
+    private boolean insert(TreeMap<Double, Point> chain, Point p, int side) {
+        double x = key(p);
+        Map.Entry<Double, Point> same = chain.floorEntry(x);
+        if (same != null && same.getKey() == x) {
+            // Only the most extreme point per x can be on the chain
+            double dy = side * (p.y - same.getValue().y);
+            if (dy == 0 && replacing) {
+                put(chain, x, p, side);
+                return true;
+            }
+            if (dy >= 0) return false;
+        } else {
+            Map.Entry<Double, Point> before = chain.lowerEntry(x);
+            Map.Entry<Double, Point> after = chain.higherEntry(x);
+            if (before != null && after != null
+                    && side * Orientation.orientation(before.getValue(), after.getValue(), p) >= 0) return false;
+        }
+
+        // p is a new vertex: link it in, then drop the neighbours that are no longer convex
+        put(chain, x, p, side);
+        Map.Entry<Double, Point> left = chain.lowerEntry(x);
+        while (left != null) {
+            Map.Entry<Double, Point> leftOfLeft = chain.lowerEntry(left.getKey());
+            if (leftOfLeft == null || side * Orientation.orientation(leftOfLeft.getValue(), left.getValue(), p) > 0) break;
+            remove(chain, left.getKey(), side);
+            left = leftOfLeft;
+        }
+        Map.Entry<Double, Point> right = chain.higherEntry(x);
+        while (right != null) {
+            Map.Entry<Double, Point> rightOfRight = chain.higherEntry(right.getKey());
+            if (rightOfRight == null || side * Orientation.orientation(p, right.getValue(), rightOfRight.getValue()) > 0) break;
+            remove(chain, right.getKey(), side);
+            right = rightOfRight;
+        }
+        return true;
+    }
+
+
+    // put and remove keep the running sum equal to the sum over consecutive chain vertices
+    private void put(TreeMap<Double, Point> chain, double x, Point p, int side) {
+        if (chain.containsKey(x)) remove(chain, x, side);
+
+        Map.Entry<Double, Point> before = chain.lowerEntry(x);
+        Map.Entry<Double, Point> after = chain.higherEntry(x);
+        addSum(side, before, after, -1);
+        addSum(side, before, p, 1);
+        addSum(side, p, after, 1);
+        chain.put(x, p);
+        if (journaling) log(p, side > 0 ? PUT_LOWER : PUT_UPPER);
+    }
+
+
+    private void remove(TreeMap<Double, Point> chain, double x, int side) {
+        Map.Entry<Double, Point> before = chain.lowerEntry(x);
+        Map.Entry<Double, Point> after = chain.higherEntry(x);
+        Point p = chain.remove(x);
+        addSum(side, before, p, -1);
+        addSum(side, p, after, -1);
+        addSum(side, before, after, 1);
+        if (journaling) log(p, side > 0 ? REMOVE_LOWER : REMOVE_UPPER);
+    }
+
+
+    private void log(Point p, byte op) {
+        if (journalSize == journalPoints.length) {
+            journalPoints = Arrays.copyOf(journalPoints, 2 * journalSize);
+            journalOps = Arrays.copyOf(journalOps, 2 * journalSize);
+        }
+        journalPoints[journalSize] = p;
+        journalOps[journalSize++] = op;
+    }
+
+
+    private void addSum(int side, Map.Entry<Double, Point> a, Map.Entry<Double, Point> b, int sign) {
+        if (a != null && b != null) addSum(side, a.getValue(), b.getValue(), sign);
+    }
+
+
+    private void addSum(int side, Map.Entry<Double, Point> a, Point b, int sign) {
+        if (a != null) addSum(side, a.getValue(), b, sign);
+    }
+
+
+    private void addSum(int side, Point a, Map.Entry<Double, Point> b, int sign) {
+        if (b != null) addSum(side, a, b.getValue(), sign);
+    }
+
+
+    private void addSum(int side, Point a, Point b, int sign) {
+        sumUpdates++;
+        if (side > 0) lowerSum += sign * term(a, b);
+        else upperSum += sign * term(a, b);
+    }
+
+
+    private double term(Point a, Point b) {
+        return ((a.x - originX) * (b.y - originY)) - ((b.x - originX) * (a.y - originY));
+    }
+
+
+    // -0.0 and 0.0 are different keys for a TreeMap<Double, ...>
+    private static double key(Point p) {
+        return p.x + 0.0;
+    }
+
+
+    private static boolean same(Point a, Point b) {
+        return a.x == b.x && a.y == b.y;
+    }
+}
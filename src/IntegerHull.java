@@ -0,0 +1,242 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+// Hull of points with int coordinates, for fixed-point data: 8 bytes a point instead of
+// 16 for doubles, and exact arithmetic throughout. The differences of two coordinates
+// take 33 bits and their products 66, so orientations compare the products in 128 bits
+// (Math.multiplyHigh); the area is a doubled-area long, summed in 128 bits. Doubles can be
+// quantized to a grid first. The hull is built with Andrew's monotone chain over points
+// radix sorted by (x, y), in O(n) for the sort plus O(n) for the chains, after an exact
+// Akl–Toussaint pass has dropped the points that cannot be vertices.
+public final class IntegerHull {
+    private IntegerHull() {
+    }
+
+
+    // Returns the hull as indices into xs/ys (in the range offset..offset+length-1),
+    // counter-clockwise starting at the point with the smallest x (then smallest y),
+    // without collinear points, and the first of duplicate points; fewer than three
+    // points are returned as given, like QuickHull does
+    public static int[] computeHull(int[] xs, int[] ys, int offset, int length) {
+        checkRange(xs, ys, offset, length);
+        if (length < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) all[i] = offset + i;
+            return all;
+        }
+
+        int[] sorted = new int[length];
+        int kept = prefilter(xs, ys, offset, length, sorted);
+        sortByXThenY(xs, ys, sorted, kept);
+
+        // Duplicates are adjacent, and the stable sort put the first of them first
+        int m = 0;
+        for (int i = 0; i < kept; i++) {
+            int p = sorted[i];
+            if (m > 0 && xs[p] == xs[sorted[m - 1]] && ys[p] == ys[sorted[m - 1]]) continue;
+            sorted[m++] = p;
+        }
+        if (m == 1) return new int[]{sorted[0]};
+
+        // Lower chain left to right, then upper chain back, both turning left only
+        int[] hull = new int[2 * m];
+        int h = 0;
+        for (int i = 0; i < m; i++) {
+            while (h >= 2 && orientation(xs, ys, hull[h - 2], hull[h - 1], sorted[i]) <= 0) h--;
+            hull[h++] = sorted[i];
+        }
+        for (int i = m - 2, lower = h + 1; i >= 0; i--) {
+            while (h >= lower && orientation(xs, ys, hull[h - 2], hull[h - 1], sorted[i]) <= 0) h--;
+            hull[h++] = sorted[i];
+        }
+        // The upper chain ends at the first point again
+        return Arrays.copyOf(hull, h - 1);
+    }
+
+
+    // Hull indices into xs/ys of the points quantized with quantize(); the area in the
+    // original units is doubledArea(...) * resolution * resolution / 2
+    public static int[] computeHull(double[] xs, double[] ys, int offset, int length, double resolution) {
+        QuickHull.checkRange(xs, ys, offset, length);
+
+        int[] qxs = new int[offset + length];
+        int[] qys = new int[offset + length];
+        quantize(xs, offset, length, resolution, qxs);
+        quantize(ys, offset, length, resolution, qys);
+        return computeHull(qxs, qys, offset, length);
+    }
+
+
+    // Writes round(values[i] / resolution) to grid[i]; values that are not finite or
+    // do not fit an int are rejected
+    public static void quantize(double[] values, int offset, int length, double resolution, int[] grid) {
+        if (values == null || grid == null)
+            throw new IllegalArgumentException("Array is null");
+        if (!(resolution > 0) || Double.isInfinite(resolution))
+            throw new IllegalArgumentException("Resolution must be positive and finite: " + resolution);
+        Objects.checkFromIndexSize(offset, length, values.length);
+        Objects.checkFromIndexSize(offset, length, grid.length);
+
+        for (int i = offset; i < offset + length; i++) {
+            double q = Math.rint(values[i] / resolution);
+            if (!(q >= Integer.MIN_VALUE && q <= Integer.MAX_VALUE))
+                throw new IllegalArgumentException("Value " + values[i] + " at " + i + " is off the int grid of " + resolution);
+            grid[i] = (int) q;
+        }
+    }
+
+
+    // Twice the area of the polygon given by indices into xs/ys in cyclic order, exact.
+    // Throws ArithmeticException if it does not fit a long, possible only for polygons
+    // spanning more than 2^31 in both directions.
+    public static long doubledArea(int[] xs, int[] ys, int[] polygon) {
+        if (xs == null || ys == null || polygon == null)
+            throw new IllegalArgumentException("Array is null");
+        if (polygon.length < 3)
+            return 0;
+
+        // 128-bit sum; every product takes at most 63 bits with the sign
+        long high = 0, low = 0;
+        int a = polygon[polygon.length - 1];
+        for (int b : polygon) {
+            long plus = (long) xs[a] * ys[b];
+            long minus = -((long) xs[b] * ys[a]);
+            long sum = low + plus;
+            high += (plus >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+            sum = low + minus;
+            high += (minus >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+            a = b;
+        }
+        if (high != low >> 63)
+            throw new ArithmeticException("Doubled area does not fit a long");
+        return Math.absExact(low);
+    }
+
+
+    // 1 if c is left of a→b, -1 if right, 0 if the three points are collinear; exact
+    public static int orientation(int ax, int ay, int bx, int by, int cx, int cy) {
+        long ux = (long) bx - ax, uy = (long) by - ay;
+        long vx = (long) cx - ax, vy = (long) cy - ay;
+        long leftHigh = Math.multiplyHigh(ux, vy);
+        long rightHigh = Math.multiplyHigh(uy, vx);
+        if (leftHigh != rightHigh) return leftHigh > rightHigh ? 1 : -1;
+        return Integer.signum(Long.compareUnsigned(ux * vy, uy * vx));
+    }
+
+
+    private static int orientation(int[] xs, int[] ys, int a, int b, int c) {
+        return orientation(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+
+    // Akl–Toussaint with exact orientations: writes the indices of the points not strictly
+    // inside the polygon of the extremes along the axes and diagonals to ids, in index
+    // order, and returns their count. The extremes are input points, so what is dropped
+    // is strictly inside the hull.
+    private static int prefilter(int[] xs, int[] ys, int offset, int length, int[] ids) {
+        // Directions -x, -x-y, -y, x-y, x, x+y, y, -x+y: counter-clockwise, as in AklToussaint
+        int[] extreme = new int[8];
+        Arrays.fill(extreme, offset);
+        for (int i = offset + 1; i < offset + length; i++) {
+            long x = xs[i], y = ys[i];
+            if (x < xs[extreme[0]]) extreme[0] = i;
+            if (x + y < (long) xs[extreme[1]] + ys[extreme[1]]) extreme[1] = i;
+            if (y < ys[extreme[2]]) extreme[2] = i;
+            if (x - y > (long) xs[extreme[3]] - ys[extreme[3]]) extreme[3] = i;
+            if (x > xs[extreme[4]]) extreme[4] = i;
+            if (x + y > (long) xs[extreme[5]] + ys[extreme[5]]) extreme[5] = i;
+            if (y > ys[extreme[6]]) extreme[6] = i;
+            if (y - x > (long) ys[extreme[7]] - xs[extreme[7]]) extreme[7] = i;
+        }
+
+        int[] polygon = new int[8];
+        int vertices = 0;
+        for (int d = 0; d < 8; d++) {
+            int p = extreme[d];
+            if (vertices > 0 && xs[p] == xs[polygon[vertices - 1]] && ys[p] == ys[polygon[vertices - 1]]) continue;
+            polygon[vertices++] = p;
+        }
+        while (vertices > 1 && xs[polygon[vertices - 1]] == xs[polygon[0]] && ys[polygon[vertices - 1]] == ys[polygon[0]]) vertices--;
+        if (vertices < 3) {
+            for (int i = 0; i < length; i++) ids[i] = offset + i;
+            return length;
+        }
+
+        // Within 2^30 of the origin, differences take 31 bits and the cross products fit
+        // a long; beyond that the 128-bit orientation decides
+        boolean small = Math.max(Math.abs((long) xs[extreme[0]]), Math.abs((long) xs[extreme[4]])) < 1 << 30
+                && Math.max(Math.abs((long) ys[extreme[2]]), Math.abs((long) ys[extreme[6]])) < 1 << 30;
+        long[] edgeX = new long[vertices], edgeY = new long[vertices];
+        long[] baseX = new long[vertices], baseY = new long[vertices];
+        for (int i = 0, j = vertices - 1; i < vertices; j = i++) {
+            baseX[i] = xs[polygon[j]];
+            baseY[i] = ys[polygon[j]];
+            edgeX[i] = xs[polygon[i]] - baseX[i];
+            edgeY[i] = ys[polygon[i]] - baseY[i];
+        }
+
+        int kept = 0;
+        for (int i = offset; i < offset + length; i++) {
+            boolean inside = true;
+            if (small) {
+                long x = xs[i], y = ys[i];
+                for (int e = 0; e < vertices && inside; e++) {
+                    inside = edgeX[e] * (y - baseY[e]) - edgeY[e] * (x - baseX[e]) > 0;
+                }
+            } else {
+                for (int e = 0, j = vertices - 1; e < vertices && inside; j = e++) {
+                    inside = orientation(xs, ys, polygon[j], polygon[e], i) > 0;
+                }
+            }
+            if (!inside) ids[kept++] = i;
+        }
+        return kept;
+    }
+
+
+    // Sorts ids[0..length) by (x, y), equal points in the order given: a stable LSD radix
+    // sort over 64-bit keys, a byte per pass, skipping the bytes all keys share
+    private static void sortByXThenY(int[] xs, int[] ys, int[] ids, int length) {
+        if (length == 0) return;
+        int[] sorted = ids;
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            // Flipping the sign bits makes the unsigned order the signed one
+            keys[i] = ((long) (xs[ids[i]] ^ Integer.MIN_VALUE) << 32) | ((ys[ids[i]] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+
+        long[] keyTmp = new long[length];
+        int[] idTmp = new int[length];
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) counts[(int) (keys[i] >>> shift & 0xFF) + 1]++;
+            if (counts[(int) (keys[0] >>> shift & 0xFF) + 1] == length) continue;
+
+            for (int b = 0; b < 256; b++) counts[b + 1] += counts[b];
+            for (int i = 0; i < length; i++) {
+                int slot = counts[(int) (keys[i] >>> shift & 0xFF)]++;
+                keyTmp[slot] = keys[i];
+                idTmp[slot] = ids[i];
+            }
+            long[] k = keys;
+            keys = keyTmp;
+            keyTmp = k;
+            int[] d = ids;
+            ids = idTmp;
+            idTmp = d;
+        }
+        if (ids != sorted) System.arraycopy(ids, 0, sorted, 0, length);
+    }
+
+
+    private static void checkRange(int[] xs, int[] ys, int offset, int length) {
+        if (xs == null || ys == null)
+            throw new IllegalArgumentException("Coordinate array is null");
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        Objects.checkFromIndexSize(offset, length, xs.length);
+    }
+}
@@ -1,7 +1,11 @@
 import javax.swing.SwingUtilities;
 
 public class Main {
+    // Without arguments the visualization starts, with arguments the batch mode of HullCli
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(HullCli.run(args, System.in, System.out, System.err));
+        }
         SwingUtilities.invokeLater(MainFrame::new);
     }
 }
\ No newline at end of file
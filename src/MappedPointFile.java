@@ -0,0 +1,186 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Binary point file of little-endian double pairs (x0, y0, x1, y1, ...), memory-mapped
+// in chunks below 2 GB so files of any size can be scanned without loading them.
+// computeHull() runs the Akl–Toussaint pass straight over the mapped pages and copies
+// only the surviving points into arrays for QuickHull.
+public class MappedPointFile implements Closeable {
+    public static final int BYTES_PER_POINT = 16;
+
+    // Largest multiple of BYTES_PER_POINT a single mapping can hold
+    private static final long MAX_CHUNK_BYTES = (Integer.MAX_VALUE / BYTES_PER_POINT) * (long) BYTES_PER_POINT;
+
+    private final FileChannel channel;
+    private final long pointCount;
+    private final long pointsPerChunk;
+    private final DoubleBuffer[] chunks;
+
+    private long lastBytesScanned;
+    private long lastScanNanos;
+
+    private MappedPointFile(FileChannel channel, long pointCount, long chunkBytes) throws IOException {
+        this.channel = channel;
+        this.pointCount = pointCount;
+        this.pointsPerChunk = chunkBytes / BYTES_PER_POINT;
+
+        long bytes = pointCount * BYTES_PER_POINT;
+        chunks = new DoubleBuffer[(int) ((bytes + chunkBytes - 1) / chunkBytes)];
+        for (int c = 0; c < chunks.length; c++) {
+            long position = c * chunkBytes;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkBytes, bytes - position));
+            chunks[c] = mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+    }
+
+
+    public static MappedPointFile open(Path path) throws IOException {
+        return open(path, MAX_CHUNK_BYTES);
+    }
+
+
+    // Smaller chunks are mostly useful for testing the chunk boundaries
+    static MappedPointFile open(Path path, long chunkBytes) throws IOException {
+        if (chunkBytes < BYTES_PER_POINT || chunkBytes > MAX_CHUNK_BYTES || chunkBytes % BYTES_PER_POINT != 0)
+            throw new IllegalArgumentException("Chunk size must be a multiple of " + BYTES_PER_POINT + " below 2 GB: " + chunkBytes);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size % BYTES_PER_POINT != 0)
+                throw new IOException(path + " is not a sequence of double pairs (" + size + " bytes)");
+            return new MappedPointFile(channel, size / BYTES_PER_POINT, chunkBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    public long size() {
+        return pointCount;
+    }
+
+
+    public double x(long i) {
+        return chunk(i).get((int) (i % pointsPerChunk) * 2);
+    }
+
+
+    public double y(long i) {
+        return chunk(i).get((int) (i % pointsPerChunk) * 2 + 1);
+    }
+
+
+    // Calls the visitor once per mapping with its interleaved coordinates, in file order
+    public void forEachChunk(ChunkVisitor visitor) {
+        long start = System.nanoTime();
+        for (int c = 0; c < chunks.length; c++) {
+            visitor.visit(chunks[c].duplicate(), c * pointsPerChunk);
+        }
+        recordScan(pointCount * BYTES_PER_POINT, System.nanoTime() - start);
+    }
+
+
+    // Hull as point indices into the file, counter-clockwise, identical to
+    // QuickHull.computeHull on the same points loaded into memory
+    public long[] computeHull() {
+        return computeHull(new AklToussaint(8));
+    }
+
+
+    public long[] computeHull(AklToussaint prefilter) {
+        if (prefilter == null)
+            throw new IllegalArgumentException("Prefilter is null");
+
+        long start = System.nanoTime();
+
+        // Pass 1: directional extremes over the mapped pages
+        prefilter.reset();
+        for (int c = 0; c < chunks.length; c++) {
+            DoubleBuffer coords = chunks[c];
+            long first = c * pointsPerChunk;
+            for (int i = 0, n = coords.limit() / 2; i < n; i++) {
+                prefilter.accept(coords.get(2 * i), coords.get(2 * i + 1), first + i);
+            }
+        }
+        boolean filter = prefilter.build();
+
+        // Pass 2: copy out the points that are not strictly inside the extreme polygon
+        double[] xs = new double[64];
+        double[] ys = new double[64];
+        long[] origin = new long[64];
+        int kept = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            DoubleBuffer coords = chunks[c];
+            long first = c * pointsPerChunk;
+            for (int i = 0, n = coords.limit() / 2; i < n; i++) {
+                double x = coords.get(2 * i);
+                double y = coords.get(2 * i + 1);
+                if (filter && prefilter.isInside(x, y)) continue;
+                if (kept == xs.length) {
+                    if (kept == Integer.MAX_VALUE - 8)
+                        throw new IllegalStateException("More than " + kept + " points survive the prefilter");
+                    int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * kept);
+                    xs = Arrays.copyOf(xs, capacity);
+                    ys = Arrays.copyOf(ys, capacity);
+                    origin = Arrays.copyOf(origin, capacity);
+                }
+                xs[kept] = x;
+                ys[kept] = y;
+                origin[kept++] = first + i;
+            }
+        }
+        prefilter.setRemovedCount(pointCount - kept);
+        recordScan(2 * pointCount * BYTES_PER_POINT, System.nanoTime() - start);
+
+        // Survivors keep their file order, so QuickHull breaks ties exactly as in memory
+        int[] local = QuickHull.computeHull(xs, ys, 0, kept);
+        long[] hull = new long[local.length];
+        for (int i = 0; i < local.length; i++) hull[i] = origin[local[i]];
+        return hull;
+    }
+
+
+    // Bytes read by the last scan and how long it took
+    public long getLastBytesScanned() {
+        return lastBytesScanned;
+    }
+
+
+    public double getLastThroughputMBPerSecond() {
+        return lastScanNanos == 0 ? 0.0 : lastBytesScanned / (1024.0 * 1024.0) / (lastScanNanos / 1e9);
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+
+    private DoubleBuffer chunk(long i) {
+        if (i < 0 || i >= pointCount)
+            throw new IndexOutOfBoundsException("Point " + i + " of " + pointCount);
+        return chunks[(int) (i / pointsPerChunk)];
+    }
+
+
+    private void recordScan(long bytes, long nanos) {
+        lastBytesScanned = bytes;
+        lastScanNanos = nanos;
+    }
+
+
+    public interface ChunkVisitor {
+        // coords holds x, y pairs; the first pair is point firstIndex of the file
+        void visit(DoubleBuffer coords, long firstIndex);
+    }
+}
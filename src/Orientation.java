@@ -0,0 +1,272 @@
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+// Exact signs of QuickHull.cross. The double result is used whenever a forward error bound
+// (Shewchuk, "Adaptive Precision Floating-Point Arithmetic", orient2d stage A) proves its
+// sign right; only the ambiguous cases go on to an exact expansion (or BigDecimal) stage.
+public final class Orientation {
+    private static final double EPSILON = 0x1p-53;
+
+    // Relative error of (bx - ax) * (cy - ay) - (by - ay) * (cx - ax)
+    static final double ERROR_BOUND = (3.0 + 16.0 * EPSILON) * EPSILON;
+
+    // Relative error of the difference of two such expressions sharing a and b,
+    // (lp - rp) - (lq - rq) with lp = (bx - ax) * (py - ay) and so on, to the sum S of
+    // |lp|, |rp|, |lq| and |rq|. Each product went through three roundings, the two
+    // differences and the multiplication, so it is off by at most (3 + 13ε)ε of its
+    // magnitude; the two inner subtractions add at most ε S. The outer subtraction is
+    // rounded too, but a rounded difference has the sign of the exact one, which is all
+    // the bound is tested for, as in orient2d. That makes (4 + 13ε)ε S; the rest of the
+    // 64ε covers the rounding of S, of the product with the bound and of the filters that
+    // bound S from the bounding box.
+    static final double DISTANCE_ERROR_BOUND = (4.0 + 64.0 * EPSILON) * EPSILON;
+
+    // Relative error of the orient3d determinant (Shewchuk's o3derrboundA)
+    static final double ERROR_BOUND_3D = (7.0 + 56.0 * EPSILON) * EPSILON;
+
+    // Smallest bound the filters trust. Products in the subnormal range are rounded to an
+    // absolute 2^-1075 instead of a relative ε, which the 16ε² slack of ERROR_BOUND only
+    // covers for sums of products of at least 2^-949, that is bounds above 2^-1000.
+    private static final double MIN_BOUND = 0x1p-1000;
+
+    private static final LongAdder adaptiveEvaluations = new LongAdder();
+    private static final LongAdder exactEvaluations = new LongAdder();
+
+    private Orientation() {
+    }
+
+
+    // 1 if c is left of a→b, -1 if right, 0 if the three points are collinear
+    public static int orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        double ux = bx - ax, vy = cy - ay;
+        double uy = by - ay, vx = cx - ax;
+        double left = ux * vy;
+        double right = uy * vx;
+        double det = left - right;
+
+        // The bound only matters when both terms have the same sign, but testing the signs
+        // costs more in mispredicted branches than the two abs calls
+        double bound = usable(ERROR_BOUND * (Math.abs(left) + Math.abs(right)));
+        if (det > bound) return 1;
+        if (-det > bound) return -1;
+        // Both terms are zero for sure only with a zero factor each; they may have
+        // underflowed otherwise. A rounded difference is zero only for equal operands.
+        if ((ux == 0.0 || vy == 0.0) && (uy == 0.0 || vx == 0.0)) return 0;
+        return exactOrientation(ax, ay, bx, by, cx, cy, det);
+    }
+
+
+    public static int orientation(Point a, Point b, Point c) {
+        return orientation(a.x, a.y, b.x, b.y, c.x, c.y);
+    }
+
+
+    // 1 if p lies above the plane of triangle a, b, c, on the side its counter-clockwise
+    // normal (b - a) × (c - a) points to; -1 if below, 0 if the four points are coplanar
+    public static int orientation(double ax, double ay, double az, double bx, double by, double bz,
+                                  double cx, double cy, double cz, double px, double py, double pz) {
+        double adx = ax - px, ady = ay - py, adz = az - pz;
+        double bdx = bx - px, bdy = by - py, bdz = bz - pz;
+        double cdx = cx - px, cdy = cy - py, cdz = cz - pz;
+
+        double bdxcdy = bdx * cdy, cdxbdy = cdx * bdy;
+        double cdxady = cdx * ady, adxcdy = adx * cdy;
+        double adxbdy = adx * bdy, bdxady = bdx * ady;
+        // Negative when p is above, orient3d's sign convention
+        double det = adz * (bdxcdy - cdxbdy) + bdz * (cdxady - adxcdy) + cdz * (adxbdy - bdxady);
+        double bound = ERROR_BOUND_3D * ((Math.abs(bdxcdy) + Math.abs(cdxbdy)) * Math.abs(adz)
+                + (Math.abs(cdxady) + Math.abs(adxcdy)) * Math.abs(bdz)
+                + (Math.abs(adxbdy) + Math.abs(bdxady)) * Math.abs(cdz));
+        double filter = usable(bound);
+        if (det > filter) return -1;
+        if (-det > filter) return 1;
+        // All products are zero, and are so exactly unless a factor was tiny enough for a
+        // product of three to underflow
+        if (bound == 0.0 && noUnderflow(adx, ady, adz) && noUnderflow(bdx, bdy, bdz) && noUnderflow(cdx, cdy, cdz))
+            return 0;
+        return -exactOrientation3D(ax, ay, az, bx, by, bz, cx, cy, cz, px, py, pz, det);
+    }
+
+
+    // Static filter: a bound on the error of QuickHull.cross(a, b, c) for every c with
+    // |cx - ax| <= width and |cy - ay| <= height, e.g. all points of a bounding box
+    // containing a. A loop can test against it and call orientation() only when it fails.
+    static double errorBound(double ax, double ay, double bx, double by, double width, double height) {
+        return usable(ERROR_BOUND * (Math.abs(bx - ax) * height + Math.abs(by - ay) * width));
+    }
+
+
+    // Same for the difference of two QuickHull.cross(a, b, ...) values, see compareDistance
+    static double distanceErrorBound(double ax, double ay, double bx, double by, double width, double height) {
+        return usable(2.0 * DISTANCE_ERROR_BOUND * (Math.abs(bx - ax) * height + Math.abs(by - ay) * width));
+    }
+
+
+    // Sign of cross(a, b, p) - cross(a, b, q): 1 if p lies farther left of a→b than q
+    public static int compareDistance(double ax, double ay, double bx, double by,
+                                      double px, double py, double qx, double qy) {
+        if (px == qx && py == qy) return 0;
+
+        double dx = bx - ax, dy = by - ay;
+        double leftP = dx * (py - ay), rightP = dy * (px - ax);
+        double leftQ = dx * (qy - ay), rightQ = dy * (qx - ax);
+        double diff = (leftP - rightP) - (leftQ - rightQ);
+        double bound = usable(DISTANCE_ERROR_BOUND
+                * (Math.abs(leftP) + Math.abs(rightP) + Math.abs(leftQ) + Math.abs(rightQ)));
+        if (diff > bound) return 1;
+        if (-diff > bound) return -1;
+        return exactCompareDistance(ax, ay, bx, by, px, py, qx, qy, diff);
+    }
+
+
+    // A filter bound, or infinity if it is too small to trust or NaN: no rounded value
+    // passes an infinite bound, so the caller goes on to the exact stage. Overflowing
+    // products make the bound infinite already.
+    static double usable(double bound) {
+        return bound >= MIN_BOUND ? bound : Double.POSITIVE_INFINITY;
+    }
+
+
+    // Calls the error bound could not settle, answered by the expansion stage
+    public static long getAdaptiveEvaluations() {
+        return adaptiveEvaluations.sum();
+    }
+
+
+    // Calls that also needed BigDecimal, because a coordinate difference was not exact
+    public static long getExactEvaluations() {
+        return exactEvaluations.sum();
+    }
+
+
+    public static void resetCounters() {
+        adaptiveEvaluations.reset();
+        exactEvaluations.reset();
+    }
+
+
+    static int exactOrientation(double ax, double ay, double bx, double by, double cx, double cy, double det) {
+        // c on one of the end points, as for the farthest point itself, is collinear for sure
+        if ((cx == ax && cy == ay) || (cx == bx && cy == by)) return 0;
+        return exactSign(bx, ax, cy, ay, by, ay, cx, ax, det);
+    }
+
+
+    // The orient3d determinant in BigDecimal; there is no expansion stage for it
+    static int exactOrientation3D(double ax, double ay, double az, double bx, double by, double bz,
+                                  double cx, double cy, double cz, double px, double py, double pz, double det) {
+        adaptiveEvaluations.increment();
+        if (!Double.isFinite(ax) || !Double.isFinite(ay) || !Double.isFinite(az)
+                || !Double.isFinite(bx) || !Double.isFinite(by) || !Double.isFinite(bz)
+                || !Double.isFinite(cx) || !Double.isFinite(cy) || !Double.isFinite(cz)
+                || !Double.isFinite(px) || !Double.isFinite(py) || !Double.isFinite(pz)) {
+            return signum(det);
+        }
+
+        exactEvaluations.increment();
+        BigDecimal x = exact(px), y = exact(py), z = exact(pz);
+        BigDecimal adx = exact(ax).subtract(x), ady = exact(ay).subtract(y), adz = exact(az).subtract(z);
+        BigDecimal bdx = exact(bx).subtract(x), bdy = exact(by).subtract(y), bdz = exact(bz).subtract(z);
+        BigDecimal cdx = exact(cx).subtract(x), cdy = exact(cy).subtract(y), cdz = exact(cz).subtract(z);
+        return adz.multiply(bdx.multiply(cdy).subtract(cdx.multiply(bdy)))
+                .add(bdz.multiply(cdx.multiply(ady).subtract(adx.multiply(cdy))))
+                .add(cdz.multiply(adx.multiply(bdy).subtract(bdx.multiply(ady))))
+                .signum();
+    }
+
+
+    // cross(a, b, p) - cross(a, b, q) = (b - a) × (p - q)
+    static int exactCompareDistance(double ax, double ay, double bx, double by,
+                                    double px, double py, double qx, double qy, double diff) {
+        return exactSign(bx, ax, py, qy, by, ay, px, qx, diff);
+    }
+
+
+    // Sign of (a1 - a0) * (b1 - b0) - (c1 - c0) * (d1 - d0). When the four differences are
+    // exact in doubles, the products are split into exact two-term sums with fma and the
+    // difference becomes a four-term expansion whose rounded sum has the exact sign
+    // (orient2d stage B). That takes products that neither overflow nor come near the
+    // subnormal range, where the fma tail is no longer exact; otherwise, as when a
+    // difference is not exact, BigDecimal does the whole expression.
+    private static int exactSign(double a1, double a0, double b1, double b0,
+                                 double c1, double c0, double d1, double d0, double estimate) {
+        adaptiveEvaluations.increment();
+        if (!Double.isFinite(a1) || !Double.isFinite(a0) || !Double.isFinite(b1) || !Double.isFinite(b0)
+                || !Double.isFinite(c1) || !Double.isFinite(c0) || !Double.isFinite(d1) || !Double.isFinite(d0)) {
+            return signum(estimate);
+        }
+
+        double a = a1 - a0, b = b1 - b0, c = c1 - c0, d = d1 - d0;
+        if (diffTail(a1, a0, a) == 0.0 && diffTail(b1, b0, b) == 0.0
+                && diffTail(c1, c0, c) == 0.0 && diffTail(d1, d0, d) == 0.0) {
+            double left = a * b;
+            double right = c * d;
+            if (splittable(a, b, left) && splittable(c, d, right)) {
+                double leftTail = Math.fma(a, b, -left);
+                double rightTail = Math.fma(c, d, -right);
+
+                // Two_Two_Diff: (left + leftTail) - (right + rightTail) = x3 + x2 + x1 + x0
+                double i = leftTail - rightTail;
+                double x0 = diffTail(leftTail, rightTail, i);
+                double j = left + i;
+                double low = sumTail(left, i, j);
+                double k = low - right;
+                double x1 = diffTail(low, right, k);
+                double x3 = j + k;
+                double x2 = sumTail(j, k, x3);
+
+                // A nonoverlapping expansion is dominated by its largest term, unless
+                // that one overflowed
+                if (Double.isFinite(x3)) return signum(x0 + x1 + x2 + x3);
+            }
+        }
+
+        exactEvaluations.increment();
+        return exact(a1).subtract(exact(a0)).multiply(exact(b1).subtract(exact(b0)))
+                .subtract(exact(c1).subtract(exact(c0)).multiply(exact(d1).subtract(exact(d0))))
+                .signum();
+    }
+
+
+    // Whether products of three of these values and others like them are exact zeros or
+    // normal doubles, which takes every nonzero value to be at least 2^-340
+    private static boolean noUnderflow(double x, double y, double z) {
+        return (x == 0.0 || Math.abs(x) >= 0x1p-340) && (y == 0.0 || Math.abs(y) >= 0x1p-340)
+                && (z == 0.0 || Math.abs(z) >= 0x1p-340);
+    }
+
+
+    // Whether x * y = product + fma tail exactly: the product is finite, and either an
+    // exact zero or far enough above the subnormal range for the tail to be a normal double
+    private static boolean splittable(double x, double y, double product) {
+        if (product == 0.0) return x == 0.0 || y == 0.0;
+        return Double.isFinite(product) && Math.abs(product) >= 0x1p-969;
+    }
+
+
+    // Rounding error of x = a - b, so that a - b = x + tail exactly
+    private static double diffTail(double a, double b, double x) {
+        double bVirtual = a - x;
+        double aVirtual = x + bVirtual;
+        return (a - aVirtual) + (bVirtual - b);
+    }
+
+
+    // Rounding error of x = a + b
+    private static double sumTail(double a, double b, double x) {
+        double bVirtual = x - a;
+        double aVirtual = x - bVirtual;
+        return (a - aVirtual) + (b - bVirtual);
+    }
+
+
+    private static BigDecimal exact(double value) {
+        return new BigDecimal(value);
+    }
+
+
+    // NaN counts as 0, like a degenerate triangle
+    private static int signum(double value) {
+        return value > 0 ? 1 : value < 0 ? -1 : 0;
+    }
+}
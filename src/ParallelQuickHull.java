@@ -0,0 +1,325 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Fork/Join QuickHull. Ranges larger than the cutoff are scanned and partitioned in
+// parallel blocks; the two sub-problems of every level run as separate tasks.
+// Uses the same tie-breaking as QuickHullEngine, so the hull is identical to QuickHull's.
+public class ParallelQuickHull {
+    public static final int DEFAULT_CUTOFF = 1 << 15;
+
+    // Smallest block of a parallel scan, so that a small cutoff does not make a task and
+    // three counters per point
+    private static final int MIN_BLOCK_SIZE = 1 << 12;
+
+    private static final byte RIGHT_PART = 0;
+    private static final byte LEFT_PART = 1;
+    private static final byte DROPPED = 2;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] idx;
+    private final int[] tmp;
+    private final byte[] part;
+    private final int cutoff;
+    private final int blockSize;
+
+    private ParallelQuickHull(double[] xs, double[] ys, int length, int cutoff) {
+        this.xs = xs;
+        this.ys = ys;
+        this.idx = new int[length];
+        this.tmp = new int[length];
+        this.part = new byte[length];
+        this.cutoff = cutoff;
+        this.blockSize = Math.max(cutoff, MIN_BLOCK_SIZE);
+    }
+
+
+    public static List<Point> computeHull(List<Point> points) {
+        return computeHull(points, null);
+    }
+
+
+    public static List<Point> computeHull(List<Point> points, AklToussaint prefilter) {
+        int[] indices = computeHull(QuickHull.xsOf(points), QuickHull.ysOf(points), 0, points.size(),
+                ForkJoinPool.commonPool(), DEFAULT_CUTOFF, prefilter);
+        return QuickHull.select(points, indices);
+    }
+
+
+    public static int[] computeHull(double[] xs, double[] ys, int offset, int length) {
+        return computeHull(xs, ys, offset, length, ForkJoinPool.commonPool(), DEFAULT_CUTOFF, null);
+    }
+
+
+    // Ranges of at most cutoff points are handled sequentially, prefilter may be null
+    public static int[] computeHull(double[] xs, double[] ys, int offset, int length,
+                                    ForkJoinPool pool, int cutoff, AklToussaint prefilter) {
+        QuickHull.checkRange(xs, ys, offset, length);
+        if (pool == null)
+            throw new IllegalArgumentException("Pool is null");
+        if (cutoff < 1)
+            throw new IllegalArgumentException("Cutoff must be positive: " + cutoff);
+
+        if (length <= cutoff || length < 3) return QuickHull.computeHull(xs, ys, offset, length, prefilter);
+
+        ParallelQuickHull state = new ParallelQuickHull(xs, ys, length, cutoff);
+        return pool.invoke(state.new Root(offset, length, prefilter));
+    }
+
+
+    @SuppressWarnings("serial")
+    private final class Root extends RecursiveTask<int[]> {
+        private final int offset;
+        private final int length;
+        private final AklToussaint prefilter;
+
+        Root(int offset, int length, AklToussaint prefilter) {
+            this.offset = offset;
+            this.length = length;
+            this.prefilter = prefilter;
+        }
+
+        @Override
+        protected int[] compute() {
+            // Step 1: fill the working array and find the x-extremes block by block
+            int blocks = blockCount(length);
+            int[] mins = new int[blocks];
+            int[] maxs = new int[blocks];
+            AklToussaint[] extremes = new AklToussaint[prefilter == null ? 0 : blocks];
+            forEachBlock(0, length, (block, from, to) -> {
+                AklToussaint local = prefilter == null ? null : new AklToussaint(prefilter.getDirections());
+                int min = offset + from;
+                int max = min;
+                for (int i = from; i < to; i++) {
+                    int p = offset + i;
+                    idx[i] = p;
+                    if (QuickHullEngine.isLeftOf(xs, ys, p, min)) min = p;
+                    if (QuickHullEngine.isRightOf(xs, ys, p, max)) max = p;
+                    if (local != null) local.accept(xs[p], ys[p], p);
+                }
+                mins[block] = min;
+                maxs[block] = max;
+                if (local != null) extremes[block] = local;
+            });
+            int minX = mins[0];
+            int maxX = maxs[0];
+            for (int b = 1; b < blocks; b++) {
+                if (QuickHullEngine.isLeftOf(xs, ys, mins[b], minX)) minX = mins[b];
+                if (QuickHullEngine.isRightOf(xs, ys, maxs[b], maxX)) maxX = maxs[b];
+            }
+            // Optional prefilter: keep only the points outside the merged extreme polygon
+            int count = length;
+            if (prefilter != null) {
+                prefilter.reset();
+                for (AklToussaint local : extremes) prefilter.merge(local);
+                if (prefilter.build()) {
+                    count = partition(0, length, p -> prefilter.isInside(xs[p], ys[p]) ? DROPPED : RIGHT_PART)[0];
+                }
+                prefilter.setRemovedCount(length - count);
+            }
+            if (minX == maxX) return new int[]{minX};
+
+            // Step 2: lower half (left of maxX→minX) first, upper half next, drop the rest
+            double ax = xs[minX], ay = ys[minX], bx = xs[maxX], by = ys[maxX];
+            int[] bounds = partition(0, count, p -> {
+                int side = Orientation.orientation(ax, ay, bx, by, xs[p], ys[p]);
+                return side < 0 ? RIGHT_PART : side > 0 ? LEFT_PART : DROPPED;
+            });
+
+            // Step 3: both halves in parallel, lower chain first to keep CCW order
+            int depthLimit = QuickHullEngine.depthLimit(count);
+            Chain lower = new Chain(0, bounds[0], maxX, minX, 1, depthLimit);
+            Chain upper = new Chain(bounds[0], bounds[1], minX, maxX, 1, depthLimit);
+            upper.fork();
+            return concat(lower.compute(), upper.join());
+        }
+    }
+
+
+    // Hull chain from b up to (excluding) a for the candidates idx[from..to). Past the
+    // depth limit the range is finished with the monotone chain, as in the engine.
+    @SuppressWarnings("serial")
+    private final class Chain extends RecursiveTask<int[]> {
+        private final int from;
+        private final int to;
+        private final int a;
+        private final int b;
+        private final int depth;
+        private final int depthLimit;
+
+        Chain(int from, int to, int a, int b, int depth, int depthLimit) {
+            this.from = from;
+            this.to = to;
+            this.a = a;
+            this.b = b;
+            this.depth = depth;
+            this.depthLimit = depthLimit;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (depth > depthLimit) {
+                QuickHullEngine engine = new QuickHullEngine();
+                int h = engine.monotoneChain(xs, ys, idx, from, to, a, b);
+                return Arrays.copyOf(engine.hull(), h);
+            }
+            if (to - from <= cutoff) {
+                QuickHullEngine engine = new QuickHullEngine();
+                int h = engine.chain(xs, ys, idx, from, to, a, b);
+                return Arrays.copyOf(engine.hull(), h);
+            }
+
+            int farthest = farthest(from, to, a, b);
+
+            double ax = xs[a], ay = ys[a], bx = xs[b], by = ys[b];
+            double fx = xs[farthest], fy = ys[farthest];
+            int[] bounds = partition(from, to, p -> {
+                if (Orientation.orientation(fx, fy, bx, by, xs[p], ys[p]) > 0) return RIGHT_PART;
+                if (Orientation.orientation(ax, ay, fx, fy, xs[p], ys[p]) > 0) return LEFT_PART;
+                return DROPPED;
+            });
+
+            Chain right = new Chain(from, bounds[0], farthest, b, depth + 1, depthLimit);
+            Chain left = new Chain(bounds[0], bounds[1], a, farthest, depth + 1, depthLimit);
+            left.fork();
+            return concat(right.compute(), left.join());
+        }
+    }
+
+
+    // Same choice as QuickHullEngine.findHull, reduced over blocks
+    private int farthest(int from, int to, int a, int b) {
+        double ax = xs[a], ay = ys[a], bx = xs[b], by = ys[b];
+        int blocks = blockCount(to - from);
+        int[] best = new int[blocks];
+        forEachBlock(from, to, (block, lo, hi) -> {
+            double dx = bx - ax, dy = by - ay;
+            int farthest = idx[lo];
+            double maxLeft = dx * (ys[farthest] - ay), maxRight = dy * (xs[farthest] - ax);
+            double maxDist = maxLeft - maxRight;
+            double maxSum = Math.abs(maxLeft) + Math.abs(maxRight);
+            for (int i = lo + 1; i < hi; i++) {
+                int p = idx[i];
+                double left = dx * (ys[p] - ay), right = dy * (xs[p] - ax);
+                double dist = left - right;
+                double sum = Math.abs(left) + Math.abs(right);
+                double diff = dist - maxDist;
+                double bound = Orientation.usable(Orientation.DISTANCE_ERROR_BOUND * (sum + maxSum));
+                if (diff < -bound) continue;
+                if (diff > bound || QuickHullEngine.isFarther(xs, ys, p, farthest, ax, ay, bx, by)) {
+                    maxDist = dist;
+                    maxSum = sum;
+                    farthest = p;
+                }
+            }
+            best[block] = farthest;
+        });
+
+        int farthest = best[0];
+        for (int block = 1; block < blocks; block++) {
+            int p = best[block];
+            if (QuickHullEngine.isFarther(xs, ys, p, farthest, ax, ay, bx, by)) farthest = p;
+        }
+        return farthest;
+    }
+
+
+    // Stable three-way partition of idx[from..to) by count and scatter through tmp.
+    // Returns {end of RIGHT_PART, end of LEFT_PART}, dropped points follow.
+    private int[] partition(int from, int to, Classifier classifier) {
+        int blocks = blockCount(to - from);
+        int[] counts = new int[blocks * 3];
+        forEachBlock(from, to, (block, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                byte c = classifier.classify(idx[i]);
+                part[i] = c;
+                counts[block * 3 + c]++;
+            }
+        });
+
+        // Exclusive prefix sums per class, class by class
+        int[] starts = new int[blocks * 3];
+        int pos = from;
+        for (int c = 0; c < 3; c++) {
+            for (int block = 0; block < blocks; block++) {
+                starts[block * 3 + c] = pos;
+                pos += counts[block * 3 + c];
+            }
+        }
+
+        forEachBlock(from, to, (block, lo, hi) -> {
+            int right = starts[block * 3 + RIGHT_PART];
+            int left = starts[block * 3 + LEFT_PART];
+            int dropped = starts[block * 3 + DROPPED];
+            for (int i = lo; i < hi; i++) {
+                switch (part[i]) {
+                    case RIGHT_PART: tmp[right++] = idx[i]; break;
+                    case LEFT_PART: tmp[left++] = idx[i]; break;
+                    default: tmp[dropped++] = idx[i]; break;
+                }
+            }
+        });
+        forEachBlock(from, to, (block, lo, hi) -> System.arraycopy(tmp, lo, idx, lo, hi - lo));
+
+        return new int[]{starts[LEFT_PART], starts[DROPPED]};
+    }
+
+
+    private int blockCount(int length) {
+        return Math.max(1, (length + blockSize - 1) / blockSize);
+    }
+
+
+    private void forEachBlock(int from, int to, BlockBody body) {
+        new Blocks(from, to, 0, blockCount(to - from), body).invoke();
+    }
+
+
+    @SuppressWarnings("serial")
+    private final class Blocks extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int first;
+        private final int last;
+        private final BlockBody body;
+
+        Blocks(int from, int to, int first, int last, BlockBody body) {
+            this.from = from;
+            this.to = to;
+            this.first = first;
+            this.last = last;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first == 1) {
+                int lo = from + first * blockSize;
+                body.run(first, lo, Math.min(lo + blockSize, to));
+                return;
+            }
+            int mid = (first + last) >>> 1;
+            invokeAll(new Blocks(from, to, first, mid, body), new Blocks(from, to, mid, last, body));
+        }
+    }
+
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+
+    private interface BlockBody {
+        void run(int block, int from, int to);
+    }
+
+
+    private interface Classifier {
+        byte classify(int p);
+    }
+}
@@ -0,0 +1,193 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Uniform grid over a point set, for the viewer. Points are bucketed by cell with a
+// counting sort, and a pyramid of per-cell counts halves the resolution level by level,
+// so a query visits only the cells overlapping its rectangle, and a zoomed-out view
+// can draw whole cells instead of their points. Built once per data set; non-finite
+// points are left out.
+final class PointGrid {
+    // Cells per side at level 0: about four points per cell, but at most this many
+    private static final int MAX_SIZE = 2048;
+
+    interface CellVisitor {
+        void visit(double x, double y, int count);
+    }
+
+    final double minX, minY, maxX, maxY;
+
+    private final int size;         // cells per side at level 0, a power of two
+    private final double cellW, cellH;
+    private final int[] cellStart;  // points of cell c are ids[cellStart[c]..cellStart[c + 1])
+    private final int[] ids;
+    private final int[][] counts;   // counts[level][cy * (size >> level) + cx]
+
+
+    PointGrid(double[] xs, double[] ys, int length) {
+        QuickHull.checkRange(xs, ys, 0, length);
+
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        int finite = 0;
+        for (int i = 0; i < length; i++) {
+            double x = xs[i], y = ys[i];
+            if (!Double.isFinite(x) || !Double.isFinite(y)) continue;
+            x0 = Math.min(x0, x);
+            x1 = Math.max(x1, x);
+            y0 = Math.min(y0, y);
+            y1 = Math.max(y1, y);
+            finite++;
+        }
+        if (finite == 0) {
+            x0 = y0 = 0.0;
+            x1 = y1 = 1.0;
+        }
+        minX = x0;
+        minY = y0;
+        maxX = x1;
+        maxY = y1;
+
+        int s = 1;
+        while (s < MAX_SIZE && 4L * (2 * s) * (2 * s) <= finite) s *= 2;
+        size = s;
+        // Degenerate extents still get cells of positive size
+        cellW = Math.max(maxX - minX, Double.MIN_NORMAL) / size;
+        cellH = Math.max(maxY - minY, Double.MIN_NORMAL) / size;
+
+        int[] cells = new int[length];
+        cellStart = new int[size * size + 1];
+        for (int i = 0; i < length; i++) {
+            double x = xs[i], y = ys[i];
+            if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                cells[i] = -1;
+                continue;
+            }
+            int c = cellY(y) * size + cellX(x);
+            cells[i] = c;
+            cellStart[c + 1]++;
+        }
+        for (int c = 0; c < size * size; c++) cellStart[c + 1] += cellStart[c];
+
+        ids = new int[finite];
+        int[] next = Arrays.copyOf(cellStart, size * size);
+        for (int i = 0; i < length; i++) {
+            if (cells[i] >= 0) ids[next[cells[i]]++] = i;
+        }
+
+        int levels = Integer.numberOfTrailingZeros(size) + 1;
+        counts = new int[levels][];
+        counts[0] = new int[size * size];
+        for (int c = 0; c < size * size; c++) counts[0][c] = cellStart[c + 1] - cellStart[c];
+        for (int level = 1; level < levels; level++) {
+            int side = size >> level;
+            int[] below = counts[level - 1];
+            int[] here = new int[side * side];
+            for (int cy = 0; cy < side; cy++) {
+                for (int cx = 0; cx < side; cx++) {
+                    int b = 2 * cy * 2 * side + 2 * cx;
+                    here[cy * side + cx] = below[b] + below[b + 1] + below[b + 2 * side] + below[b + 2 * side + 1];
+                }
+            }
+            counts[level] = here;
+        }
+    }
+
+
+    int size() {
+        return ids.length;
+    }
+
+
+    double cellWidth(int level) {
+        return cellW * (1 << level);
+    }
+
+
+    double cellHeight(int level) {
+        return cellH * (1 << level);
+    }
+
+
+    // Coarsest level whose cells fit into a pixel of the given logical size,
+    // -1 if even level 0 is larger
+    int level(double pixelW, double pixelH) {
+        int level = -1;
+        while (level + 1 < counts.length && cellW * (1 << (level + 1)) <= pixelW
+                && cellH * (1 << (level + 1)) <= pixelH) {
+            level++;
+        }
+        return level;
+    }
+
+
+    // Points in the cells overlapping the rectangle, an upper bound for the points in it.
+    // Counted on the finest level that needs at most a few thousand cells.
+    int countIn(double x0, double y0, double x1, double y1) {
+        if (!overlaps(x0, y0, x1, y1)) return 0;
+        int level = 0;
+        while (level + 1 < counts.length && cellsIn(level, x0, y0, x1, y1) > 4096) level++;
+
+        int side = size >> level;
+        int[] here = counts[level];
+        int cx0 = cellX(x0) >> level, cx1 = cellX(x1) >> level;
+        int cy0 = cellY(y0) >> level, cy1 = cellY(y1) >> level;
+        int total = 0;
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) total += here[cy * side + cx];
+        }
+        return total;
+    }
+
+
+    // Visits the index of every point in a cell overlapping the rectangle; the action
+    // does the exact test if it needs one
+    void forEach(double x0, double y0, double x1, double y1, IntConsumer action) {
+        if (!overlaps(x0, y0, x1, y1)) return;
+        int cx0 = cellX(x0), cx1 = cellX(x1);
+        for (int cy = cellY(y0), cy1 = cellY(y1); cy <= cy1; cy++) {
+            for (int i = cellStart[cy * size + cx0], end = cellStart[cy * size + cx1 + 1]; i < end; i++) {
+                action.accept(ids[i]);
+            }
+        }
+    }
+
+
+    // Visits the non-empty cells of the level overlapping the rectangle, with their centers
+    void forEachCell(int level, double x0, double y0, double x1, double y1, CellVisitor visitor) {
+        if (!overlaps(x0, y0, x1, y1)) return;
+        int side = size >> level;
+        int[] here = counts[level];
+        double w = cellW * (1 << level), h = cellH * (1 << level);
+        for (int cy = cellY(y0) >> level, cy1 = cellY(y1) >> level; cy <= cy1; cy++) {
+            for (int cx = cellX(x0) >> level, cx1 = cellX(x1) >> level; cx <= cx1; cx++) {
+                int count = here[cy * side + cx];
+                if (count > 0) visitor.visit(minX + (cx + 0.5) * w, minY + (cy + 0.5) * h, count);
+            }
+        }
+    }
+
+
+    private boolean overlaps(double x0, double y0, double x1, double y1) {
+        return ids.length > 0 && x0 <= maxX && x1 >= minX && y0 <= maxY && y1 >= minY;
+    }
+
+
+    private long cellsIn(int level, double x0, double y0, double x1, double y1) {
+        long w = (cellX(x1) >> level) - (cellX(x0) >> level) + 1;
+        long h = (cellY(y1) >> level) - (cellY(y0) >> level) + 1;
+        return w * h;
+    }
+
+
+    // Cell column of x, clamped to the grid
+    private int cellX(double x) {
+        double c = (x - minX) / cellW;
+        return c <= 0 ? 0 : c >= size ? size - 1 : (int) c;
+    }
+
+
+    private int cellY(double y) {
+        double c = (y - minY) / cellH;
+        return c <= 0 ? 0 : c >= size ? size - 1 : (int) c;
+    }
+}
@@ -29,6 +29,22 @@ public class PolygonArea {
         return Math.abs(signedArea);
     }
 
+    // Primitive counterpart: polygon given as indices into xs/ys, in any order
+    public static double computeArea(double[] xs, double[] ys, int[] polygon) {
+        if (xs == null || ys == null || polygon == null)
+            throw new IllegalArgumentException("Point array is null");
+
+        if (polygon.length < 3)
+            return 0.0;
+
+        int[] order = polygon.clone();
+
+        // Nach Polarwinkel um den Mittelpunkt sortieren
+        QuickHull.sortCounterClockwise(xs, ys, order, 0, order.length);
+
+        return Math.abs(signedShoelace(xs, ys, order, 0, order.length));
+    }
+
     private static Point computeCentroid(List<Point> points) {
         double sumX = 0, sumY = 0;
         for (Point p : points) {
@@ -38,14 +54,34 @@ public class PolygonArea {
         return new Point(sumX / points.size(), sumY / points.size());
     }
 
+    // Measured from the first vertex rather than the origin, which keeps polygons far
+    // from the origin accurate
     private static double signedShoelace(List<Point> polygon) {
         double sum = 0.0;
         int n = polygon.size();
+        Point r = polygon.get(0);
 
         for (int i = 0; i < n; i++) {
             Point a = polygon.get(i);
             Point b = polygon.get((i + 1) % n);
-            sum += (a.x * b.y) - (b.x * a.y);
+            sum += ((a.x - r.x) * (b.y - r.y)) - ((b.x - r.x) * (a.y - r.y));
+        }
+        return sum / 2.0;
+    }
+
+    // Polygon polygon[from..to) must already be in cyclic order; measured from its first vertex
+    static double signedShoelace(double[] xs, double[] ys, int[] polygon, int from, int to) {
+        if (to - from < 3)
+            return 0.0;
+
+        double sum = 0.0;
+        double rx = xs[polygon[from]], ry = ys[polygon[from]];
+        int a = polygon[to - 1];
+
+        for (int i = from; i < to; i++) {
+            int b = polygon[i];
+            sum += ((xs[a] - rx) * (ys[b] - ry)) - ((xs[b] - rx) * (ys[a] - ry));
+            a = b;
         }
         return sum / 2.0;
     }
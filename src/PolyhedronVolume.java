@@ -0,0 +1,63 @@
+import java.util.List;
+
+// 3D counterpart of PolygonArea, for closed triangle meshes such as Hull3DResult.faces
+public class PolyhedronVolume {
+
+    private PolyhedronVolume() {
+    }
+
+    public static double computeVolume(List<Point3D> points, int[] faces) {
+        if (points == null)
+            throw new IllegalArgumentException("Point list is null");
+        return computeVolume(QuickHull3D.xsOf(points), QuickHull3D.ysOf(points), QuickHull3D.zsOf(points), faces);
+    }
+
+    // Faces as vertex triples into xs/ys/zs, counter-clockwise seen from outside
+    public static double computeVolume(double[] xs, double[] ys, double[] zs, int[] faces) {
+        checkFaces(xs, ys, zs, faces);
+        if (faces.length == 0)
+            return 0.0;
+
+        // Divergence theorem: signed tetrahedra from a reference vertex to every face.
+        // Measuring from a vertex instead of the origin keeps far-off solids accurate.
+        int r = faces[0];
+        double rx = xs[r], ry = ys[r], rz = zs[r];
+        double sum = 0.0;
+        for (int i = 0; i < faces.length; i += 3) {
+            int a = faces[i], b = faces[i + 1], c = faces[i + 2];
+            double ax = xs[a] - rx, ay = ys[a] - ry, az = zs[a] - rz;
+            double bx = xs[b] - rx, by = ys[b] - ry, bz = zs[b] - rz;
+            double cx = xs[c] - rx, cy = ys[c] - ry, cz = zs[c] - rz;
+            sum += ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx);
+        }
+        return Math.abs(sum) / 6.0;
+    }
+
+    public static double computeSurfaceArea(List<Point3D> points, int[] faces) {
+        if (points == null)
+            throw new IllegalArgumentException("Point list is null");
+        return computeSurfaceArea(QuickHull3D.xsOf(points), QuickHull3D.ysOf(points), QuickHull3D.zsOf(points), faces);
+    }
+
+    public static double computeSurfaceArea(double[] xs, double[] ys, double[] zs, int[] faces) {
+        checkFaces(xs, ys, zs, faces);
+
+        double sum = 0.0;
+        for (int i = 0; i < faces.length; i += 3) {
+            int a = faces[i], b = faces[i + 1], c = faces[i + 2];
+            double ux = xs[b] - xs[a], uy = ys[b] - ys[a], uz = zs[b] - zs[a];
+            double vx = xs[c] - xs[a], vy = ys[c] - ys[a], vz = zs[c] - zs[a];
+            double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+            sum += Math.sqrt(nx * nx + ny * ny + nz * nz);
+        }
+        return sum / 2.0;
+    }
+
+    private static void checkFaces(double[] xs, double[] ys, double[] zs, int[] faces) {
+        if (xs == null || ys == null || zs == null || faces == null)
+            throw new IllegalArgumentException("Point array is null");
+        if (faces.length % 3 != 0)
+            throw new IllegalArgumentException("Face array length is not a multiple of 3: " + faces.length);
+    }
+
+}
@@ -1,73 +1,126 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 public class QuickHull {
+    // Ties on x are broken by y so both extremes are proper hull vertices
+    private static final Comparator<Point> BY_X_THEN_Y =
+            Comparator.comparingDouble((Point p) -> p.x).thenComparingDouble(p -> p.y);
+
     public static List<Point> computeHull(List<Point> points) {
         if (points.size() < 3) return new ArrayList<>(points);
 
-        List<Point> hull = new ArrayList<>();
+        // Unbox once into coordinate arrays, the primitive path does the actual work
+        double[] xs = xsOf(points);
+        double[] ys = ysOf(points);
+        return select(points, computeHull(xs, ys, 0, points.size()));
+    }
 
-        // Step 1: find the extreme points on the x-axis
-        Point minX = findMinX(points);
-        Point maxX = findMaxX(points);
 
-        // Step 2: process upper half (points left of minX→maxX)
-        //         and lower half (points left of maxX→minX)
-        findHull(points, minX, maxX, hull);  // upper hull
-        findHull(points, maxX, minX, hull);  // lower hull
+    public static List<Point> computeHull(List<Point> points, AklToussaint prefilter) {
+        if (points.size() < 3) return new ArrayList<>(points);
 
-        // Step 3: sort counter-clockwise so the Shoelace formula works correctly
-        sortCounterClockwise(hull);
-        return hull;
+        return select(points, computeHull(xsOf(points), ysOf(points), 0, points.size(), prefilter));
     }
 
 
-    private static void findHull(List<Point> points, Point a, Point b, List<Point> hull) {
+    // Returns the hull as indices into xs/ys (in the range offset..offset+length-1),
+    // counter-clockwise starting at the point with the smallest x
+    public static int[] computeHull(double[] xs, double[] ys, int offset, int length) {
+        return computeHull(xs, ys, offset, length, null);
+    }
 
-        // Collect only the points that lie strictly to the LEFT of a→b
-        List<Point> leftOfAB = new ArrayList<>();
-        Point farthest = null;
-        double maxDist = 0.0;
 
-        for (Point p : points) {
-            double dist = cross(a, b, p);   // positive left of a to b
-            if (dist > 0) {
-                leftOfAB.add(p);
-                if (dist > maxDist) {
-                    maxDist = dist;
-                    farthest = p;
-                }
-            }
-        }
+    // prefilter may be null; its removed count is updated after the call
+    public static int[] computeHull(double[] xs, double[] ys, int offset, int length, AklToussaint prefilter) {
+        return computeHull(xs, ys, offset, length, prefilter, null);
+    }
 
-        // Base case: no points left of a to b so a is a hull vertex
-        if (farthest == null) {
-            if (!hull.contains(a)) hull.add(a);
-            return;
-        }
 
-        // Recursive case:
-        //   farthest is a hull vertex.
-        //   Points inside triangle(a, farthest, b) cannot be hull vertices discard them.
-        //   Only points left of a to farthest or left of farthest to b can still be hull vertices.
-        findHull(leftOfAB, a, farthest, hull);
-        findHull(leftOfAB, farthest, b, hull);
+    // listener may be null as well. The JFR events of HullEvents are emitted either way
+    // while a recording has them enabled.
+    public static int[] computeHull(double[] xs, double[] ys, int offset, int length,
+                                    AklToussaint prefilter, HullListener listener) {
+        checkRange(xs, ys, offset, length);
+
+        QuickHullEngine engine = new QuickHullEngine();
+        engine.setListener(HullEvents.listener(listener));
+        int h = engine.compute(xs, ys, offset, length, prefilter);
+        return Arrays.copyOf(engine.hull(), h);
+    }
+
+
+    // Hull plus area, perimeter and centroid in one pass: the shoelace terms are summed
+    // while the vertices are emitted, so there is no second sort and no copy of the hull
+    public static HullResult computeHullAndArea(List<Point> points) {
+        return computeHullAndArea(xsOf(points), ysOf(points), 0, points.size());
+    }
+
+
+    public static HullResult computeHullAndArea(double[] xs, double[] ys, int offset, int length) {
+        return computeHullAndArea(xs, ys, offset, length, null);
+    }
+
+
+    public static HullResult computeHullAndArea(double[] xs, double[] ys, int offset, int length,
+                                                HullListener listener) {
+        checkRange(xs, ys, offset, length);
+
+        QuickHullEngine engine = new QuickHullEngine();
+        engine.setMeasuring(true);
+        engine.setListener(HullEvents.listener(listener));
+        int h = engine.compute(xs, ys, offset, length);
+        return new HullResult(Arrays.copyOf(engine.hull(), h), engine.area(), engine.perimeter(),
+                engine.centroidX(), engine.centroidY());
     }
 
 
+    // Rounded; near zero its sign can be wrong, Orientation.orientation gives the exact sign
     public static double cross(Point a, Point b, Point c) {
         return (b.x - a.x) * (c.y - a.y) - (b.y - a.y) * (c.x - a.x);
     }
 
 
+    public static double cross(double ax, double ay, double bx, double by, double cx, double cy) {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+
+
     public static Point findMinX(List<Point> points) {
-        return points.stream().min(Comparator.comparingDouble(p -> p.x)).orElseThrow();
+        return points.stream().min(BY_X_THEN_Y).orElseThrow();
     }
 
 
     public static Point findMaxX(List<Point> points) {
-        return points.stream().max(Comparator.comparingDouble(p -> p.x)).orElseThrow();
+        return points.stream().max(BY_X_THEN_Y).orElseThrow();
+    }
+
+
+    // First index with the smallest x (then smallest y), like the stream-based version
+    public static int findMinX(double[] xs, double[] ys, int offset, int length) {
+        checkRange(xs, ys, offset, length);
+        if (length == 0) throw new NoSuchElementException("No value present");
+
+        int best = offset;
+        for (int i = offset + 1; i < offset + length; i++) {
+            if (xs[i] < xs[best] || (xs[i] == xs[best] && ys[i] < ys[best])) best = i;
+        }
+        return best;
+    }
+
+
+    public static int findMaxX(double[] xs, double[] ys, int offset, int length) {
+        checkRange(xs, ys, offset, length);
+        if (length == 0) throw new NoSuchElementException("No value present");
+
+        int best = offset;
+        for (int i = offset + 1; i < offset + length; i++) {
+            if (xs[i] > xs[best] || (xs[i] == xs[best] && ys[i] > ys[best])) best = i;
+        }
+        return best;
     }
 
 
@@ -79,4 +132,90 @@ public class QuickHull {
 
         hull.sort(Comparator.comparingDouble(p -> Math.atan2(p.y - cy, p.x - cx)));
     }
-}
\ No newline at end of file
+
+
+    // Sorts the indices hull[from..to) by polar angle around their centroid
+    public static void sortCounterClockwise(double[] xs, double[] ys, int[] hull, int from, int to) {
+        int n = to - from;
+        if (n < 3) return;
+
+        double cx = 0, cy = 0;
+        for (int i = from; i < to; i++) {
+            cx += xs[hull[i]];
+            cy += ys[hull[i]];
+        }
+        cx /= n;
+        cy /= n;
+
+        double[] angles = new double[n];
+        for (int i = 0; i < n; i++) {
+            int p = hull[from + i];
+            angles[i] = Math.atan2(ys[p] - cy, xs[p] - cx);
+        }
+        sortByKey(angles, hull, from, new double[n], new int[n]);
+    }
+
+
+    // Stable merge sort of values[from..from+keys.length) by keys, the primitive stand-in for List.sort
+    static void sortByKey(double[] keys, int[] values, int from, double[] keyTmp, int[] valueTmp) {
+        int n = keys.length;
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                if (keys[mid - 1] <= keys[mid]) continue;
+
+                int i = lo, j = mid, k = 0;
+                while (i < mid && j < hi) {
+                    if (keys[j] < keys[i]) {
+                        keyTmp[k] = keys[j];
+                        valueTmp[k++] = values[from + j++];
+                    } else {
+                        keyTmp[k] = keys[i];
+                        valueTmp[k++] = values[from + i++];
+                    }
+                }
+                while (i < mid) {
+                    keyTmp[k] = keys[i];
+                    valueTmp[k++] = values[from + i++];
+                }
+                while (j < hi) {
+                    keyTmp[k] = keys[j];
+                    valueTmp[k++] = values[from + j++];
+                }
+                System.arraycopy(keyTmp, 0, keys, lo, k);
+                System.arraycopy(valueTmp, 0, values, from + lo, k);
+            }
+        }
+    }
+
+
+    static double[] xsOf(List<Point> points) {
+        double[] xs = new double[points.size()];
+        for (int i = 0; i < xs.length; i++) xs[i] = points.get(i).x;
+        return xs;
+    }
+
+
+    static double[] ysOf(List<Point> points) {
+        double[] ys = new double[points.size()];
+        for (int i = 0; i < ys.length; i++) ys[i] = points.get(i).y;
+        return ys;
+    }
+
+
+    static List<Point> select(List<Point> points, int[] indices) {
+        List<Point> selected = new ArrayList<>(indices.length);
+        for (int i : indices) selected.add(points.get(i));
+        return selected;
+    }
+
+
+    static void checkRange(double[] xs, double[] ys, int offset, int length) {
+        if (xs == null || ys == null)
+            throw new IllegalArgumentException("Coordinate array is null");
+        if (xs.length != ys.length)
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        Objects.checkFromIndexSize(offset, length, xs.length);
+    }
+}
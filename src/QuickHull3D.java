@@ -0,0 +1,79 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Convex hull of points in space, the 3D sibling of QuickHull; QuickHull3DEngine does the
+// work on primitive arrays. The hull must have volume: fewer than 4 points, or points
+// that are all coplanar within rounding, are rejected with IllegalArgumentException,
+// like non-finite coordinates.
+public class QuickHull3D {
+
+    public static Hull3DResult computeHull(List<Point3D> points) {
+        if (points == null)
+            throw new IllegalArgumentException("Point list is null");
+
+        // Unbox once into coordinate arrays, the primitive path does the actual work
+        return computeHull(xsOf(points), ysOf(points), zsOf(points), 0, points.size());
+    }
+
+
+    // Faces and vertices index into xs/ys/zs (in the range offset..offset+length-1)
+    public static Hull3DResult computeHull(double[] xs, double[] ys, double[] zs, int offset, int length) {
+        checkRange(xs, ys, zs, offset, length);
+
+        int[] faces = new QuickHull3DEngine().compute(xs, ys, zs, offset, length);
+        return new Hull3DResult(faces, vertices(faces),
+                PolyhedronVolume.computeVolume(xs, ys, zs, faces),
+                PolyhedronVolume.computeSurfaceArea(xs, ys, zs, faces));
+    }
+
+
+    // Distinct entries of faces, ascending
+    private static int[] vertices(int[] faces) {
+        int[] sorted = faces.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[n++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+
+    static double[] xsOf(List<Point3D> points) {
+        double[] xs = new double[points.size()];
+        for (int i = 0; i < xs.length; i++) xs[i] = points.get(i).x;
+        return xs;
+    }
+
+
+    static double[] ysOf(List<Point3D> points) {
+        double[] ys = new double[points.size()];
+        for (int i = 0; i < ys.length; i++) ys[i] = points.get(i).y;
+        return ys;
+    }
+
+
+    static double[] zsOf(List<Point3D> points) {
+        double[] zs = new double[points.size()];
+        for (int i = 0; i < zs.length; i++) zs[i] = points.get(i).z;
+        return zs;
+    }
+
+
+    static List<Point3D> select(List<Point3D> points, int[] indices) {
+        List<Point3D> selected = new ArrayList<>(indices.length);
+        for (int i : indices) selected.add(points.get(i));
+        return selected;
+    }
+
+
+    static void checkRange(double[] xs, double[] ys, double[] zs, int offset, int length) {
+        if (xs == null || ys == null || zs == null)
+            throw new IllegalArgumentException("Coordinate array is null");
+        if (xs.length != ys.length || xs.length != zs.length)
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        Objects.checkFromIndexSize(offset, length, xs.length);
+    }
+}
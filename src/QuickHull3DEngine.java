@@ -0,0 +1,388 @@
+import java.util.Arrays;
+
+// QuickHull in three dimensions (Barber, Dobkin, Huhdanpaa, "The Quickhull Algorithm for
+// Convex Hulls", 1996). Faces are triangles in a half-edge structure kept in int arrays:
+// face f owns the edges 3f, 3f + 1 and 3f + 2, so the next edge needs no array of its own.
+// Every point outside the current hull sits in the conflict list of the face it is
+// farthest above; adding an eye point only reassigns the points of the faces it removes,
+// which is expected O(n log n) in total.
+// Whether a point is outside a face, and which faces an eye sees, is decided by the exact
+// Orientation.orientation, so the faces stay consistent on (nearly) coplanar input without
+// merging; rounded distances only rank the points. Faces whose plane runs through the eye
+// are replaced too, so points inside flat or straight parts never stay vertices.
+final class QuickHull3DEngine {
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+
+    // Half-edges: head vertex and opposite edge
+    private int[] head = new int[0];
+    private int[] twin = new int[0];
+
+    // Faces: outward unit normal, plane offset, conflict list and its farthest point
+    private int faces;
+    private double[] nx = new double[0];
+    private double[] ny = new double[0];
+    private double[] nz = new double[0];
+    private double[] offset = new double[0];
+    private boolean[] alive = new boolean[0];
+    private int[] conflicts = new int[0];       // first point, -1 for none
+    private int[] farthest = new int[0];
+    private double[] farthestDist = new double[0];
+    private int[] visited = new int[0];         // pass of the last horizon search that removed the face
+
+    // Conflict lists are linked through the points
+    private int[] nextConflict = new int[0];
+
+    // Scratch space of one step
+    private int[] pending = new int[0];         // faces that may have conflicts
+    private int pendingSize;
+    private int[] stackEdge = new int[0];       // horizon search: next edge and edges left per face
+    private int[] stackLeft = new int[0];
+    private int[] horizon = new int[0];
+    private int[] removed = new int[0];         // faces visible from the eye
+    private int removedSize;
+    private int[] orphans = new int[0];
+    private int pass;
+
+
+    // Returns the triangles as vertex triples, counter-clockwise seen from outside
+    int[] compute(double[] xs, double[] ys, double[] zs, int offset, int length) {
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        faces = 0;
+        pendingSize = 0;
+        pass = 0;
+        if (length < 4) throw new IllegalArgumentException("A 3D hull needs at least 4 points, got " + length);
+
+        for (int i = offset; i < offset + length; i++) {
+            if (!Double.isFinite(xs[i]) || !Double.isFinite(ys[i]) || !Double.isFinite(zs[i]))
+                throw new IllegalArgumentException("Point " + i + " is not finite");
+        }
+
+        if (nextConflict.length < xs.length) nextConflict = new int[xs.length];
+        if (orphans.length < length) orphans = new int[length];
+
+        int[] simplex = simplex(offset, length);
+        buildSimplex(simplex);
+        assignInitial(offset, length, simplex);
+
+        while (pendingSize > 0) {
+            int f = pending[--pendingSize];
+            if (!alive[f] || conflicts[f] < 0) continue;
+            addPoint(farthest[f], f);
+        }
+        return triangles();
+    }
+
+
+    // Four points spanning a tetrahedron: the farthest pair among the axis extremes,
+    // the point farthest from their line and the point farthest from that plane
+    private int[] simplex(int offset, int length) {
+        int[] min = {offset, offset, offset};
+        int[] max = {offset, offset, offset};
+        for (int i = offset + 1; i < offset + length; i++) {
+            if (xs[i] < xs[min[0]]) min[0] = i;
+            if (xs[i] > xs[max[0]]) max[0] = i;
+            if (ys[i] < ys[min[1]]) min[1] = i;
+            if (ys[i] > ys[max[1]]) max[1] = i;
+            if (zs[i] < zs[min[2]]) min[2] = i;
+            if (zs[i] > zs[max[2]]) max[2] = i;
+        }
+
+        int v0 = min[0], v1 = max[0];
+        for (int axis = 1; axis < 3; axis++) {
+            if (distanceSquared(min[axis], max[axis]) > distanceSquared(v0, v1)) {
+                v0 = min[axis];
+                v1 = max[axis];
+            }
+        }
+        if (distanceSquared(v0, v1) == 0.0)
+            throw new IllegalArgumentException("Points coincide, their hull has no volume");
+
+        double ux = xs[v1] - xs[v0], uy = ys[v1] - ys[v0], uz = zs[v1] - zs[v0];
+        double uLength = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        int v2 = -1;
+        double best = 0.0;
+        for (int i = offset; i < offset + length; i++) {
+            double px = xs[i] - xs[v0], py = ys[i] - ys[v0], pz = zs[i] - zs[v0];
+            double cx = uy * pz - uz * py, cy = uz * px - ux * pz, cz = ux * py - uy * px;
+            double d = Math.sqrt(cx * cx + cy * cy + cz * cz) / uLength;
+            if (d > best) {
+                best = d;
+                v2 = i;
+            }
+        }
+        if (v2 < 0) throw new IllegalArgumentException("Points are collinear, their hull has no volume");
+
+        double wx = xs[v2] - xs[v0], wy = ys[v2] - ys[v0], wz = zs[v2] - zs[v0];
+        double mx = uy * wz - uz * wy, my = uz * wx - ux * wz, mz = ux * wy - uy * wx;
+        double mLength = Math.sqrt(mx * mx + my * my + mz * mz);
+        int v3 = -1;
+        best = 0.0;
+        for (int i = offset; i < offset + length; i++) {
+            double d = Math.abs(mx * (xs[i] - xs[v0]) + my * (ys[i] - ys[v0]) + mz * (zs[i] - zs[v0])) / mLength;
+            if (d > best) {
+                best = d;
+                v3 = i;
+            }
+        }
+        if (v3 < 0 || orientation(v0, v1, v2, v3) == 0)
+            throw new IllegalArgumentException("Points are coplanar, their hull has no volume");
+        return new int[]{v0, v1, v2, v3};
+    }
+
+
+    private void buildSimplex(int[] v) {
+        // Each face leaves out one vertex and is turned to face away from it
+        for (int skip = 0; skip < 4; skip++) {
+            int[] t = new int[3];
+            for (int i = 0, k = 0; i < 4; i++) {
+                if (i != skip) t[k++] = v[i];
+            }
+            if (orientation(t[0], t[1], t[2], v[skip]) > 0) newFace(t[0], t[2], t[1]);
+            else newFace(t[0], t[1], t[2]);
+        }
+        for (int e = 0; e < 12; e++) {
+            for (int g = 0; g < 12; g++) {
+                if (head[g] == tail(e) && tail(g) == head[e]) twin[e] = g;
+            }
+        }
+    }
+
+
+    private void assignInitial(int offset, int length, int[] simplex) {
+        for (int i = offset; i < offset + length; i++) {
+            if (i == simplex[0] || i == simplex[1] || i == simplex[2] || i == simplex[3]) continue;
+            assign(i, 0, 4);
+        }
+    }
+
+
+    // Puts point p into the conflict list of the face of first..end-1 it is farthest
+    // above, or drops it if it is above none of them
+    private void assign(int p, int first, int end) {
+        int best = -1;
+        double bestDist = 0.0;
+        for (int f = first; f < end; f++) {
+            if (orientation(f, p) <= 0) continue;
+            // Rounding can put a point that is just above at or below the plane, and a
+            // sliver of a face can have no rounded normal at all (NaN)
+            double d = distance(f, p);
+            if (!(d > 0)) d = Double.MIN_VALUE;
+            if (d > bestDist) {
+                bestDist = d;
+                best = f;
+            }
+        }
+        if (best < 0) return;
+
+        // Among equally far points the lexicographically smallest is a vertex of their
+        // hull, so an eye is never taken from the middle of a flat or straight stretch
+        if (conflicts[best] < 0) {
+            farthestDist[best] = bestDist;
+            farthest[best] = p;
+            push(best);
+        } else if (bestDist > farthestDist[best]
+                || (bestDist == farthestDist[best] && precedes(p, farthest[best]))) {
+            farthestDist[best] = bestDist;
+            farthest[best] = p;
+        }
+        nextConflict[p] = conflicts[best];
+        conflicts[best] = p;
+    }
+
+
+    // Removes every face eye can see, starting from face f, and closes the hole with a
+    // cone of new faces from the horizon to eye
+    private void addPoint(int eye, int f) {
+        int horizonSize = horizon(eye, f);
+
+        int orphanCount = 0;
+        for (int i = 0; i < removedSize; i++) {
+            int g = removed[i];
+            alive[g] = false;
+            for (int p = conflicts[g]; p >= 0; p = nextConflict[p]) {
+                if (p != eye) orphans[orphanCount++] = p;
+            }
+            conflicts[g] = -1;
+        }
+
+        // Horizon edge i runs t → h on a removed face; the new face (eye, t, h) takes
+        // its place next to the face beyond it
+        int first = faces;
+        for (int i = 0; i < horizonSize; i++) {
+            int e = horizon[i];
+            int g = newFace(eye, tail(e), head[e]);
+            int base = 3 * g + 1;
+            twin[base] = twin[e];
+            twin[twin[e]] = base;
+        }
+        for (int i = 0; i < horizonSize; i++) {
+            int g = first + i;
+            int next = first + (i + 1) % horizonSize;
+            twin[3 * g + 2] = 3 * next;
+            twin[3 * next] = 3 * g + 2;
+        }
+
+        for (int i = 0; i < orphanCount; i++) assign(orphans[i], first, faces);
+    }
+
+
+    // Marks the faces visible from eye, starting from face f, and collects the edges on
+    // their border in order around it; returns their number
+    private int horizon(int eye, int f) {
+        pass++;
+        removedSize = 0;
+        remove(f);
+
+        int size = 0;
+        int depth = 0;
+        stackEdge[depth] = 3 * f;
+        stackLeft[depth++] = 3;
+        while (depth > 0) {
+            int top = depth - 1;
+            if (stackLeft[top] == 0) {
+                depth--;
+                continue;
+            }
+            int e = stackEdge[top];
+            stackEdge[top] = next(e);
+            stackLeft[top]--;
+
+            int opposite = twin[e];
+            int g = opposite / 3;
+            if (visited[g] == pass) continue;
+            if (orientation(g, eye) >= 0) {
+                // Cross into g and walk its other two edges, continuing after the shared one
+                remove(g);
+                if (depth == stackEdge.length) {
+                    stackEdge = Arrays.copyOf(stackEdge, 2 * depth);
+                    stackLeft = Arrays.copyOf(stackLeft, 2 * depth);
+                }
+                stackEdge[depth] = next(opposite);
+                stackLeft[depth++] = 2;
+            } else {
+                if (size == horizon.length) horizon = Arrays.copyOf(horizon, Math.max(16, 2 * size));
+                horizon[size++] = e;
+            }
+        }
+        return size;
+    }
+
+
+    private void remove(int f) {
+        visited[f] = pass;
+        if (removedSize == removed.length) removed = Arrays.copyOf(removed, Math.max(16, 2 * removedSize));
+        removed[removedSize++] = f;
+    }
+
+
+    private int newFace(int a, int b, int c) {
+        if (faces == alive.length) grow();
+        int f = faces++;
+        head[3 * f] = b;
+        head[3 * f + 1] = c;
+        head[3 * f + 2] = a;
+
+        double ux = xs[b] - xs[a], uy = ys[b] - ys[a], uz = zs[b] - zs[a];
+        double vx = xs[c] - xs[a], vy = ys[c] - ys[a], vz = zs[c] - zs[a];
+        double x = uy * vz - uz * vy, y = uz * vx - ux * vz, z = ux * vy - uy * vx;
+        double length = Math.sqrt(x * x + y * y + z * z);
+        nx[f] = x / length;
+        ny[f] = y / length;
+        nz[f] = z / length;
+        // Through the centroid, which rounds better than any single vertex
+        offset[f] = (nx[f] * (xs[a] + xs[b] + xs[c]) + ny[f] * (ys[a] + ys[b] + ys[c])
+                + nz[f] * (zs[a] + zs[b] + zs[c])) / 3;
+        alive[f] = true;
+        conflicts[f] = -1;
+        visited[f] = 0;
+        return f;
+    }
+
+
+    private void grow() {
+        int capacity = Math.max(16, 2 * alive.length);
+        head = Arrays.copyOf(head, 3 * capacity);
+        twin = Arrays.copyOf(twin, 3 * capacity);
+        nx = Arrays.copyOf(nx, capacity);
+        ny = Arrays.copyOf(ny, capacity);
+        nz = Arrays.copyOf(nz, capacity);
+        offset = Arrays.copyOf(offset, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        conflicts = Arrays.copyOf(conflicts, capacity);
+        farthest = Arrays.copyOf(farthest, capacity);
+        farthestDist = Arrays.copyOf(farthestDist, capacity);
+        visited = Arrays.copyOf(visited, capacity);
+        if (stackEdge.length == 0) {
+            stackEdge = new int[16];
+            stackLeft = new int[16];
+        }
+    }
+
+
+    private void push(int f) {
+        if (pendingSize == pending.length) pending = Arrays.copyOf(pending, Math.max(16, 2 * pendingSize));
+        pending[pendingSize++] = f;
+    }
+
+
+    private int[] triangles() {
+        int count = 0;
+        for (int f = 0; f < faces; f++) {
+            if (alive[f]) count++;
+        }
+        int[] result = new int[3 * count];
+        int k = 0;
+        for (int f = 0; f < faces; f++) {
+            if (!alive[f]) continue;
+            result[k++] = head[3 * f + 2];
+            result[k++] = head[3 * f];
+            result[k++] = head[3 * f + 1];
+        }
+        return result;
+    }
+
+
+    // Signed distance of p above the plane of face f
+    private double distance(int f, int p) {
+        return nx[f] * xs[p] + ny[f] * ys[p] + nz[f] * zs[p] - offset[f];
+    }
+
+
+    private int orientation(int f, int p) {
+        return orientation(head[3 * f + 2], head[3 * f], head[3 * f + 1], p);
+    }
+
+
+    private int orientation(int a, int b, int c, int p) {
+        return Orientation.orientation(xs[a], ys[a], zs[a], xs[b], ys[b], zs[b],
+                xs[c], ys[c], zs[c], xs[p], ys[p], zs[p]);
+    }
+
+
+    // Lexicographic order by x, y, z
+    private boolean precedes(int p, int q) {
+        if (xs[p] != xs[q]) return xs[p] < xs[q];
+        if (ys[p] != ys[q]) return ys[p] < ys[q];
+        return zs[p] < zs[q];
+    }
+
+
+    private double distanceSquared(int a, int b) {
+        double dx = xs[b] - xs[a], dy = ys[b] - ys[a], dz = zs[b] - zs[a];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+
+    private static int next(int e) {
+        return e % 3 == 2 ? e - 2 : e + 1;
+    }
+
+
+    private int tail(int e) {
+        return head[e % 3 == 0 ? e + 2 : e - 1];
+    }
+}
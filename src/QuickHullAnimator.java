@@ -1,197 +1,303 @@
 import java.util.*;
 
 
+// Step-by-step QuickHull for the visualization. The whole run is recorded up front as
+// a log of steps over one index array: every task partitions its candidate range of
+// that array stably, into the candidates of its two sub-tasks followed by the points
+// it discards and its farthest point. Later tasks only permute inside their own
+// sub-ranges, so the candidates and discarded points of any step stay one contiguous
+// range each, and hull vertices and edges are prefixes of their discovery order.
+// A step is a handful of ints, and moving to any step (seek, stepBack, jumpToPhase)
+// takes constant time; the lists returned are views, valid until the next move.
 public class QuickHullAnimator {
-    public static class Task {
-        public final Point a;
-        public final Point b;
-        public final List<Point> candidates;
-
-        Task(Point a, Point b, List<Point> candidates) {
-            this.a = a;
-            this.b = b;
-            this.candidates = candidates;
-        }
-    }
-
+    private static final String[] PHASES = {"Phase 1 — Lower Hull", "Phase 2 — Upper Hull"};
 
-    private final List<Point> hullPoints = new ArrayList<>();
-    private final List<Point[]> hullEdges = new ArrayList<>();
-    private final Queue<Task> queue = new LinkedList<>();
-    private final List<Point> upperCandidates;
+    private final List<Point> points;
     public final Point minX;
     public final Point maxX;
-    private Point currentA = null;
-    private Point currentB = null;
-    private Point currentFarthest = null;
-    private List<Point> candidatePoints = new ArrayList<>();
-    private List<Point> discardedPoints = new ArrayList<>();
-    private boolean phase2Started = false;
-    private boolean done = false;
-    private String phase = "Phase 1 — Lower Hull";
+
+    // Candidate indices, partitioned task by task as described above
+    private int[] order;
+
+    // Hull vertices in discovery order, hull edges in finalization order
+    private int[] hullOrder;
+    private int hullCount;
+    private final List<Point[]> edges = new ArrayList<>();
+    private List<Point> finalHull;
+
+    // Step s works on edge a→b with farthest point farthest (-1 for none) and shows
+    // order[from..to) as candidates and order[discardFrom..discardTo) as discarded;
+    // hulls/edges count the vertices and edges known after it
+    private int steps;
+    private int[] stepA = new int[16];
+    private int[] stepB = new int[16];
+    private int[] stepFarthest = new int[16];
+    private int[] stepFrom = new int[16];
+    private int[] stepTo = new int[16];
+    private int[] stepDiscardFrom = new int[16];
+    private int[] stepDiscardTo = new int[16];
+    private int[] stepHulls = new int[16];
+    private int[] stepEdges = new int[16];
+    private int phase2Start;
+
+    private int step;
 
 
     public QuickHullAnimator(List<Point> inputPoints) {
-        if (inputPoints.size() < 3) {
-            hullPoints.addAll(inputPoints);
+        points = new ArrayList<>(inputPoints);
+        int n = points.size();
+        if (n < 3) {
             minX = null;
             maxX = null;
-            upperCandidates = Collections.emptyList();
-            done = true;
+            finalHull = Collections.unmodifiableList(points);
+            phase2Start = 1;
+            record(-1, -1, -1, 0, 0, 0, 0);
             return;
         }
 
-        // Step 1: find extreme points
-        minX = QuickHull.findMinX(inputPoints);
-        maxX = QuickHull.findMaxX(inputPoints);
+        double[] xs = QuickHull.xsOf(points);
+        double[] ys = QuickHull.ysOf(points);
 
-        hullPoints.add(minX);
-        hullPoints.add(maxX);
+        // Step 1: find extreme points
+        int minIndex = QuickHull.findMinX(xs, ys, 0, n);
+        int maxIndex = QuickHull.findMaxX(xs, ys, 0, n);
+        minX = points.get(minIndex);
+        maxX = points.get(maxIndex);
+
+        hullOrder = new int[n];
+        boolean[] onHull = new boolean[n];
+        hullOrder[hullCount++] = minIndex;
+        hullOrder[hullCount++] = maxIndex;
+        onHull[minIndex] = true;
+        onHull[maxIndex] = true;
+
+        // Step 2: split remaining points into lower and upper halves, in input order;
+        // points on the line come last and are never shown again
+        order = new int[n];
+        int lower = 0;
+        for (int i = 0; i < n; i++) {
+            if (i != minIndex && i != maxIndex && side(xs, ys, minIndex, maxIndex, i) < 0) order[lower++] = i;
+        }
+        int upper = lower;
+        for (int i = 0; i < n; i++) {
+            if (i != minIndex && i != maxIndex && side(xs, ys, minIndex, maxIndex, i) > 0) order[upper++] = i;
+        }
+        int dropped = upper;
+        for (int i = 0; i < n; i++) {
+            if (i != minIndex && i != maxIndex && side(xs, ys, minIndex, maxIndex, i) == 0) order[dropped++] = i;
+        }
 
-        // Step 2: split remaining points into lower and upper halves
-        List<Point> lower = new ArrayList<>();
-        List<Point> upper = new ArrayList<>();
+        record(-1, -1, -1, 0, 0, 0, 0);
+        Set<Long> edgeKeys = new HashSet<>();
+        int[][] scratch = {new int[n], new int[n]};
 
-        for (Point p : inputPoints) {
-            if (p == minX || p == maxX) continue;
-            double side = QuickHull.cross(minX, maxX, p);
-            if (side < 0) lower.add(p);
-            else if (side > 0) upper.add(p);
-        }
+        run(xs, ys, new int[]{maxIndex, minIndex, 0, lower}, onHull, edgeKeys, scratch);
+        phase2Start = steps;
+        record(-1, -1, -1, 0, 0, 0, 0);
+        run(xs, ys, new int[]{minIndex, maxIndex, lower, upper}, onHull, edgeKeys, scratch);
 
-        queue.add(new Task(maxX, minX, lower));
-        upperCandidates = upper;
+        int[] sorted = Arrays.copyOf(hullOrder, hullCount);
+        QuickHull.sortCounterClockwise(xs, ys, sorted, 0, sorted.length);
+        finalHull = Collections.unmodifiableList(QuickHull.select(points, sorted));
+        record(-1, -1, -1, 0, 0, 0, 0);
     }
 
 
-    public boolean nextStep() {
-        if (done) return true;
-
-        if (queue.isEmpty()) {
-            if (!phase2Started) {
-                phase2Started = true;
-                phase = "Phase 2 — Upper Hull";
-                currentA = null;
-                currentB = null;
-                currentFarthest = null;
-                candidatePoints = new ArrayList<>();
-                discardedPoints = new ArrayList<>();
-                queue.add(new Task(minX, maxX, upperCandidates));
-                return false;
+    // Processes the task {a, b, from, to} and everything it spawns, breadth first,
+    // recording one step per task
+    private void run(double[] xs, double[] ys, int[] first, boolean[] onHull, Set<Long> edgeKeys, int[][] scratch) {
+        int[] rightPart = scratch[0];
+        int[] inside = scratch[1];
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(first);
+        while (!queue.isEmpty()) {
+            int[] task = queue.poll();
+            int a = task[0], b = task[1], from = task[2], to = task[3];
+
+            // Farthest point, the first one on ties
+            int farthestPos = -1;
+            double maxDist = 0.0;
+            for (int i = from; i < to; i++) {
+                double d = QuickHull.cross(xs[a], ys[a], xs[b], ys[b], xs[order[i]], ys[order[i]]);
+                if (d > maxDist) {
+                    maxDist = d;
+                    farthestPos = i;
+                }
             }
 
+            // Base case: no candidates, or all on the wrong side; edge a to b is a hull edge
+            if (farthestPos < 0) {
+                if (edgeKeys.add(edgeKey(a, b))) edges.add(new Point[]{points.get(a), points.get(b)});
+                record(a, b, -1, from, to, to, to);
+                continue;
+            }
 
-            QuickHull.sortCounterClockwise(hullPoints);
-            done = true;
-            currentA = null;
-            currentB = null;
-            currentFarthest = null;
-            candidatePoints = new ArrayList<>();
-            discardedPoints = new ArrayList<>();
-            return true;
-        }
+            int farthest = order[farthestPos];
+            if (!onHull[farthest]) {
+                onHull[farthest] = true;
+                hullOrder[hullCount++] = farthest;
+            }
 
-        // Process next task
-        Task task = queue.poll();
-        currentA = task.a;
-        currentB = task.b;
-        discardedPoints = new ArrayList<>();
-
-        // Base case: no candidates edge a to b is a hull edge
-        if (task.candidates.isEmpty()) {
-            currentFarthest = null;
-            candidatePoints = new ArrayList<>();
-            finalizeEdge(task.a, task.b);
-            return false;
+            // Stable partition of the other candidates into left of a→farthest, left of
+            // farthest→b and discarded, with farthest itself at the end
+            int leftAF = 0, leftFB = 0, discarded = 0;
+            for (int i = from; i < to; i++) {
+                int p = order[i];
+                if (p == farthest) continue;
+                if (side(xs, ys, a, farthest, p) > 0) order[from + leftAF++] = p;
+                else if (side(xs, ys, farthest, b, p) > 0) rightPart[leftFB++] = p;
+                else inside[discarded++] = p;
+            }
+            int discardFrom = from + leftAF + leftFB;
+            System.arraycopy(rightPart, 0, order, from + leftAF, leftFB);
+            System.arraycopy(inside, 0, order, discardFrom, discarded);
+            order[to - 1] = farthest;
+
+            record(a, b, farthest, from, to - 1, discardFrom, to - 1);
+            queue.add(new int[]{a, farthest, from, from + leftAF});
+            queue.add(new int[]{farthest, b, from + leftAF, discardFrom});
         }
+    }
 
-        // Find the farthest point
-        Point farthest = null;
-        double maxDist = 0.0;
 
-        for (Point p : task.candidates) {
-            double d = QuickHull.cross(task.a, task.b, p);
-            if (d > maxDist) {
-                maxDist = d;
-                farthest = p;
-            }
+    private void record(int a, int b, int farthest, int from, int to, int discardFrom, int discardTo) {
+        if (steps == stepA.length) {
+            int length = 2 * steps;
+            stepA = Arrays.copyOf(stepA, length);
+            stepB = Arrays.copyOf(stepB, length);
+            stepFarthest = Arrays.copyOf(stepFarthest, length);
+            stepFrom = Arrays.copyOf(stepFrom, length);
+            stepTo = Arrays.copyOf(stepTo, length);
+            stepDiscardFrom = Arrays.copyOf(stepDiscardFrom, length);
+            stepDiscardTo = Arrays.copyOf(stepDiscardTo, length);
+            stepHulls = Arrays.copyOf(stepHulls, length);
+            stepEdges = Arrays.copyOf(stepEdges, length);
         }
+        stepA[steps] = a;
+        stepB[steps] = b;
+        stepFarthest[steps] = farthest;
+        stepFrom[steps] = from;
+        stepTo[steps] = to;
+        stepDiscardFrom[steps] = discardFrom;
+        stepDiscardTo[steps] = discardTo;
+        stepHulls[steps] = hullCount;
+        stepEdges[steps] = edges.size();
+        steps++;
+    }
 
-        // All candidates are on the wrong side
-        if (farthest == null) {
-            currentFarthest = null;
-            candidatePoints = new ArrayList<>(task.candidates);
-            finalizeEdge(task.a, task.b);
-            return false;
-        }
 
-        currentFarthest = farthest;
-        if (!hullPoints.contains(farthest)) hullPoints.add(farthest);
+    // Rounded side of p relative to a→b, as the animation has always used it
+    private static int side(double[] xs, double[] ys, int a, int b, int p) {
+        double d = QuickHull.cross(xs[a], ys[a], xs[b], ys[b], xs[p], ys[p]);
+        return d > 0 ? 1 : d < 0 ? -1 : 0;
+    }
 
 
-        List<Point> leftAF = new ArrayList<>();
-        List<Point> leftFB = new ArrayList<>();
-        List<Point> remaining = new ArrayList<>();
+    private static long edgeKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
 
-        for (Point p : task.candidates) {
-            if (p == farthest) continue;
-            boolean leftOfAP = QuickHull.cross(task.a, farthest, p) > 0;
-            boolean leftOfPB = QuickHull.cross(farthest, task.b, p) > 0;
 
-            if (leftOfAP) leftAF.add(p);
-            else if (leftOfPB) leftFB.add(p);
-            else discardedPoints.add(p);
-        }
+    // Moves one step forward, true once the hull is complete
+    public boolean nextStep() {
+        if (step < steps - 1) step++;
+        return isDone();
+    }
+
 
-        candidatePoints = new ArrayList<>(task.candidates);
-        candidatePoints.remove(farthest);
+    // Moves one step back, false if already at the start
+    public boolean stepBack() {
+        if (step == 0) return false;
+        step--;
+        return true;
+    }
 
-        queue.add(new Task(task.a, farthest, leftAF));
-        queue.add(new Task(farthest, task.b, leftFB));
 
-        return false;
+    // Step 0 is the state after the split into halves, getStepCount() - 1 the finished hull
+    public void seek(int step) {
+        this.step = Objects.checkIndex(step, steps);
     }
 
-    private void finalizeEdge(Point a, Point b) {
-        for (Point[] e : hullEdges) {
-            if ((e[0] == a && e[1] == b) || (e[0] == b && e[1] == a)) return;
-        }
-        hullEdges.add(new Point[]{a, b});
+
+    // Moves to the first step of phase 1 (lower hull) or 2 (upper hull)
+    public void jumpToPhase(int phase) {
+        if (phase == 1) step = 0;
+        else if (phase == 2) step = Math.min(phase2Start, steps - 1);
+        else throw new IllegalArgumentException("Phase must be 1 or 2: " + phase);
+    }
+
+
+    public int getStep() {
+        return step;
+    }
+
+
+    public int getStepCount() {
+        return steps;
     }
 
     public List<Point> getHullPoints() {
-        return hullPoints;
+        if (isDone()) return finalHull;
+        return new IndexList(hullOrder, 0, stepHulls[step]);
     }
 
     public List<Point[]> getHullEdges() {
-        return hullEdges;
+        return Collections.unmodifiableList(edges.subList(0, stepEdges[step]));
     }
 
     public Point getCurrentA() {
-        return currentA;
+        return pointOrNull(stepA[step]);
     }
 
     public Point getCurrentB() {
-        return currentB;
+        return pointOrNull(stepB[step]);
     }
 
     public Point getCurrentFarthest() {
-        return currentFarthest;
+        return pointOrNull(stepFarthest[step]);
     }
 
     public List<Point> getCandidatePoints() {
-        return candidatePoints;
+        return new IndexList(order, stepFrom[step], stepTo[step]);
     }
 
     public List<Point> getDiscardedPoints() {
-        return discardedPoints;
+        return new IndexList(order, stepDiscardFrom[step], stepDiscardTo[step]);
     }
 
     public String getPhase() {
-        return phase;
+        return PHASES[step < phase2Start ? 0 : 1];
     }
 
     public boolean isDone() {
-        return done;
+        return step == steps - 1;
+    }
+
+    private Point pointOrNull(int index) {
+        return index < 0 ? null : points.get(index);
+    }
+
+
+    // Read-only view of the points ids[from..to)
+    private final class IndexList extends AbstractList<Point> implements RandomAccess {
+        private final int[] ids;
+        private final int from;
+        private final int size;
+
+        IndexList(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.size = to - from;
+        }
+
+        @Override
+        public Point get(int i) {
+            return points.get(ids[from + Objects.checkIndex(i, size)]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
-}
\ No newline at end of file
+}
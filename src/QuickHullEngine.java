@@ -0,0 +1,468 @@
+// QuickHull over primitive coordinates that partitions a single index array in place,
+// the way quicksort does, and writes hull vertices out in counter-clockwise order.
+// An engine keeps its buffers between calls, so reusing one instance allocates nothing.
+// Like introsort, the recursion is cut off at twice the depth of a balanced one: input
+// that partitions badly, which can take QuickHull to quadratic time and deep stacks, has
+// its remaining chains built with Andrew's monotone chain in O(k log k) instead, which
+// finds the same vertices.
+final class QuickHullEngine {
+    private double[] xs;
+    private double[] ys;
+    private int[] idx = new int[0];
+    private int[] hull = new int[0];
+    private int size;
+
+    // Shoelace, perimeter and centroid terms, summed up while vertices are emitted; the
+    // shoelace and centroid ones from the first vertex, so far-off hulls keep their digits
+    private boolean measuring;
+    private double twiceArea;
+    private double perimeter;
+    private double centroidSumX;
+    private double centroidSumY;
+
+    // Bounding box size of the input, for the error bounds of the sign tests
+    private double width;
+    private double height;
+
+    // Whether fewer than three candidates get a real hull too, see setNormalizing
+    private boolean normalizing;
+
+    // Observer of the next runs, null for none
+    private HullListener listener;
+    private int maxDepth;
+
+    // Deepest findHull that still partitions, past it the monotone chain takes over
+    private int depthLimit;
+
+
+    int compute(double[] xs, double[] ys, int offset, int length) {
+        return compute(xs, ys, offset, length, null);
+    }
+
+
+    // With a prefilter, points inside its extreme polygon are dropped before the recursion
+    int compute(double[] xs, double[] ys, int offset, int length, AklToussaint prefilter) {
+        if (listener != null) listener.started(length);
+        load(xs, ys, offset, length);
+        int count = length;
+        if (prefilter != null) {
+            long start = listener == null ? 0L : System.nanoTime();
+            count = prefilter.filter(xs, ys, idx, 0, length);
+            if (listener != null) {
+                listener.phaseFinished(HullListener.Phase.PREFILTER, System.nanoTime() - start);
+                listener.prefiltered(length, count);
+            }
+        }
+        return run(count);
+    }
+
+
+    // Fills the working array with the indices offset..offset+length-1
+    void load(double[] xs, double[] ys, int offset, int length) {
+        this.xs = xs;
+        this.ys = ys;
+        if (idx.length < length) {
+            idx = new int[length];
+            hull = new int[length];
+        }
+        for (int i = 0; i < length; i++) idx[i] = offset + i;
+    }
+
+
+    // Computes the hull of the candidates idx[0..count), returns the number of vertices in hull()
+    int run(int count) {
+        size = 0;
+        twiceArea = 0.0;
+        perimeter = 0.0;
+        centroidSumX = 0.0;
+        centroidSumY = 0.0;
+        maxDepth = 0;
+        depthLimit = depthLimit(count);
+
+        build(count);
+
+        // Close the ring with the edge from the last vertex back to the first
+        if (measuring && size > 1) accumulate(hull[size - 1], hull[0]);
+        if (listener != null) listener.finished(size, maxDepth);
+        return size;
+    }
+
+
+    private void build(int count) {
+        if (count == 0 || (count < 3 && !normalizing)) {
+            for (int i = 0; i < count; i++) emit(idx[i]);
+            return;
+        }
+
+        // Step 1: find the extreme points on the x-axis
+        long start = listener == null ? 0L : System.nanoTime();
+        int minPos = 0;
+        int maxPos = 0;
+        double minY = ys[idx[0]];
+        double maxY = minY;
+        for (int i = 1; i < count; i++) {
+            int p = idx[i];
+            if (isLeftOf(xs, ys, p, idx[minPos])) minPos = i;
+            if (isRightOf(xs, ys, p, idx[maxPos])) maxPos = i;
+            double y = ys[p];
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        int minX = idx[minPos];
+        int maxX = idx[maxPos];
+        width = xs[maxX] - xs[minX];
+        height = maxY - minY;
+        if (listener != null) {
+            long now = System.nanoTime();
+            listener.phaseFinished(HullListener.Phase.EXTREMES, now - start);
+            start = now;
+        }
+        if (minX == maxX) {
+            emit(minX);     // every point has the same coordinates
+            return;
+        }
+
+        // Step 2: partition into lower half [0, lower) (left of maxX→minX)
+        //         and upper half [lower, upper) (left of minX→maxX), drop the rest.
+        // minX and maxX go to the dropped end first: they sit on the line, and as the
+        // only points of typical input that do, they would be all that ever takes the
+        // slow branch of side() in this loop.
+        swap(minPos, count - 1);
+        if (maxPos == count - 1) maxPos = minPos;
+        swap(maxPos, count - 2);
+        int lower = 0;
+        int i = 0;
+        int upper = count - 2;
+        double ax = xs[minX], ay = ys[minX], bx = xs[maxX], by = ys[maxX];
+        double bound = Orientation.errorBound(ax, ay, bx, by, width, height);
+        while (i < upper) {
+            int p = idx[i];
+            int side = side(ax, ay, bx, by, p, bound);
+            if (side < 0) {
+                swap(lower++, i++);
+            } else if (side > 0) {
+                i++;
+            } else {
+                swap(i, --upper);
+            }
+        }
+
+        if (listener != null) {
+            long now = System.nanoTime();
+            listener.triangle(0, count - 2, count - 2 - upper);
+            listener.phaseFinished(HullListener.Phase.SPLIT, now - start);
+            start = now;
+        }
+
+        // Step 3: walk the lower hull from minX to maxX, then the upper hull back
+        findHull(0, lower, maxX, minX, 1);
+        findHull(lower, upper, minX, maxX, 1);
+        if (listener != null) listener.phaseFinished(HullListener.Phase.RECURSION, System.nanoTime() - start);
+    }
+
+
+    // Emits the chain from b up to (excluding) a for the candidates idx[from..to) of a
+    // working array shared with other engines; each engine must own a disjoint range
+    int chain(double[] xs, double[] ys, int[] idx, int from, int to, int a, int b) {
+        this.xs = xs;
+        this.ys = ys;
+        this.idx = idx;
+        if (hull.length < to - from + 1) hull = new int[to - from + 1];
+        size = 0;
+        measuring = false;
+
+        double minX = Math.min(xs[a], xs[b]), maxX = Math.max(xs[a], xs[b]);
+        double minY = Math.min(ys[a], ys[b]), maxY = Math.max(ys[a], ys[b]);
+        for (int i = from; i < to; i++) {
+            int p = idx[i];
+            double x = xs[p], y = ys[p];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        width = maxX - minX;
+        height = maxY - minY;
+        depthLimit = depthLimit(to - from);
+
+        findHull(from, to, a, b, 1);
+        return size;
+    }
+
+
+    // Same chain as chain(), built with the monotone chain right away; for callers that
+    // ran into the depth limit with their own recursion
+    int monotoneChain(double[] xs, double[] ys, int[] idx, int from, int to, int a, int b) {
+        this.xs = xs;
+        this.ys = ys;
+        this.idx = idx;
+        if (hull.length < to - from + 1) hull = new int[to - from + 1];
+        size = 0;
+        measuring = false;
+
+        monotoneChain(from, to, a, b);
+        return size;
+    }
+
+
+    int[] hull() {
+        return hull;
+    }
+
+
+    // Forgets the coordinate arrays of the last run, and the buffers if they hold more
+    // than retain entries, so an engine kept for reuse does not pin its last input
+    void release(int retain) {
+        xs = null;
+        ys = null;
+        if (idx.length > retain || hull.length > retain) {
+            idx = new int[0];
+            hull = new int[0];
+        }
+    }
+
+
+    // Turns on area, perimeter and centroid accumulation for the following runs
+    void setMeasuring(boolean measuring) {
+        this.measuring = measuring;
+    }
+
+
+    // With normalizing set, one or two candidates go through the same steps as more do:
+    // equal points come out once, the one with the smaller x first. For candidates that
+    // stand for more points, like the vertices of an earlier hull, where computeHull's
+    // rule of returning fewer than three points as given does not apply.
+    void setNormalizing(boolean normalizing) {
+        this.normalizing = normalizing;
+    }
+
+
+    // Reports the following compute() runs to listener, null turns reporting off
+    void setListener(HullListener listener) {
+        this.listener = listener;
+    }
+
+
+    // Metrics of the last run, only valid while measuring
+    double area() {
+        return Math.abs(twiceArea) / 2.0;
+    }
+
+
+    double perimeter() {
+        return perimeter;
+    }
+
+
+    double centroidX() {
+        if (twiceArea != 0.0) return xs[hull[0]] + centroidSumX / (3.0 * twiceArea);
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) sum += xs[hull[i]];
+        return size == 0 ? Double.NaN : sum / size;
+    }
+
+
+    double centroidY() {
+        if (twiceArea != 0.0) return ys[hull[0]] + centroidSumY / (3.0 * twiceArea);
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) sum += ys[hull[i]];
+        return size == 0 ? Double.NaN : sum / size;
+    }
+
+
+    private void emit(int v) {
+        if (measuring && size > 0) accumulate(hull[size - 1], v);
+        hull[size++] = v;
+    }
+
+
+    private void accumulate(int a, int b) {
+        double rx = xs[hull[0]], ry = ys[hull[0]];
+        double ax = xs[a] - rx, ay = ys[a] - ry, bx = xs[b] - rx, by = ys[b] - ry;
+        double c = (ax * by) - (bx * ay);
+        twiceArea += c;
+        centroidSumX += (ax + bx) * c;
+        centroidSumY += (ay + by) * c;
+        double dx = xs[b] - xs[a], dy = ys[b] - ys[a];
+        perimeter += Math.sqrt(dx * dx + dy * dy);
+    }
+
+
+    // Candidates idx[from..to) all lie strictly left of a→b. Emits the hull chain
+    // from b up to (excluding) a, which is counter-clockwise order.
+    private void findHull(int from, int to, int a, int b, int depth) {
+        if (from == to) {
+            emit(b);
+            return;
+        }
+        if (depth > depthLimit) {
+            if (listener != null) listener.fallback(depth, to - from);
+            monotoneChain(from, to, a, b);
+            return;
+        }
+
+        double ax = xs[a], ay = ys[a], bx = xs[b], by = ys[b];
+
+        // Farthest point from a→b. Ties go to the point closest to a, then to the
+        // lowest index, so the result never depends on the order of idx.
+        // Differences beyond the error bound are settled without the exact comparison.
+        double distBound = Orientation.distanceErrorBound(ax, ay, bx, by, width, height);
+        int farthestPos = from;
+        double maxDist = QuickHull.cross(ax, ay, bx, by, xs[idx[from]], ys[idx[from]]);
+        for (int i = from + 1; i < to; i++) {
+            int p = idx[i];
+            double dist = QuickHull.cross(ax, ay, bx, by, xs[p], ys[p]);
+            double diff = dist - maxDist;
+            if (diff < -distBound) continue;
+            if (diff > distBound || isFarther(xs, ys, p, idx[farthestPos], ax, ay, bx, by)) {
+                maxDist = dist;
+                farthestPos = i;
+            }
+        }
+        int farthest = idx[farthestPos];
+
+        // Points inside triangle(a, farthest, b) are dropped to the end of the range,
+        // [from, mid) keeps the points left of farthest→b, [mid, end) those left of a→farthest.
+        // farthest itself is dropped up front, like minX and maxX in build().
+        double fx = xs[farthest], fy = ys[farthest];
+        double rightBound = Orientation.errorBound(fx, fy, bx, by, width, height);
+        double leftBound = Orientation.errorBound(ax, ay, fx, fy, width, height);
+        swap(farthestPos, to - 1);
+        int mid = from;
+        int i = from;
+        int end = to - 1;
+        while (i < end) {
+            int p = idx[i];
+            if (side(fx, fy, bx, by, p, rightBound) > 0) {
+                swap(mid++, i++);
+            } else if (side(ax, ay, fx, fy, p, leftBound) > 0) {
+                i++;
+            } else {
+                swap(i, --end);
+            }
+        }
+
+        if (listener != null) {
+            listener.triangle(depth, to - from, to - 1 - end);
+            if (depth > maxDepth) maxDepth = depth;
+        }
+
+        findHull(from, mid, farthest, b, depth + 1);
+        findHull(mid, end, a, farthest, depth + 1);
+    }
+
+
+    // Emits the same chain as findHull(from, to, a, b, ...). The chain from b to a is a
+    // piece of the lower hull, left to right, if b comes first by (x, y), or else of the
+    // upper hull, right to left, so the candidates sorted that way in between are walked
+    // like in Andrew's algorithm. The stack is kept in idx[from..) itself, below the
+    // candidate read next, with b under it.
+    private void monotoneChain(int from, int to, int a, int b) {
+        boolean ascending = isLeftOf(xs, ys, b, a);
+        heapSort(from, to, ascending);
+
+        int top = from;
+        for (int i = from; i <= to; i++) {
+            int p = i < to ? idx[i] : a;
+            // Of equal points the first (lowest index) is kept, as findHull does
+            if (top > from && p != a && xs[p] == xs[idx[top - 1]] && ys[p] == ys[idx[top - 1]]) continue;
+            while (top > from) {
+                int o = top > from + 1 ? idx[top - 2] : b;
+                int q = idx[top - 1];
+                if (Orientation.orientation(xs[o], ys[o], xs[q], ys[q], xs[p], ys[p]) > 0) break;
+                top--;
+            }
+            if (i < to) idx[top++] = p;
+        }
+
+        emit(b);
+        for (int i = from; i < top; i++) emit(idx[i]);
+    }
+
+
+    // Sorts idx[from..to) by (x, y, index), or the reverse; in place and without recursion
+    private void heapSort(int from, int to, boolean ascending) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(from, i, n, ascending);
+        for (int end = n - 1; end > 0; end--) {
+            swap(from, from + end);
+            siftDown(from, 0, end, ascending);
+        }
+    }
+
+
+    private void siftDown(int from, int i, int n, boolean ascending) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) return;
+            if (child + 1 < n && precedes(idx[from + child], idx[from + child + 1], ascending)) child++;
+            if (!precedes(idx[from + i], idx[from + child], ascending)) return;
+            swap(from + i, from + child);
+            i = child;
+        }
+    }
+
+
+    private boolean precedes(int p, int q, boolean ascending) {
+        if (xs[p] != xs[q]) return xs[p] < xs[q] == ascending;
+        if (ys[p] != ys[q]) return ys[p] < ys[q] == ascending;
+        return p < q;
+    }
+
+
+    // Twice the floor of log2(count), plus room for the first levels of small inputs
+    static int depthLimit(int count) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(count, 1))) + 4;
+    }
+
+
+    // Exact sign of cross(a, b, p); bound comes from Orientation.errorBound for a→b
+    private int side(double ax, double ay, double bx, double by, int p, double bound) {
+        double det = QuickHull.cross(ax, ay, bx, by, xs[p], ys[p]);
+        if (det > bound) return 1;
+        if (det < -bound) return -1;
+        return Orientation.orientation(ax, ay, bx, by, xs[p], ys[p]);
+    }
+
+
+    // Smaller x first, then smaller y, then lower index
+    static boolean isLeftOf(double[] xs, double[] ys, int p, int q) {
+        if (xs[p] != xs[q]) return xs[p] < xs[q];
+        if (ys[p] != ys[q]) return ys[p] < ys[q];
+        return p < q;
+    }
+
+
+    // Larger x first, then larger y, then lower index
+    static boolean isRightOf(double[] xs, double[] ys, int p, int q) {
+        if (xs[p] != xs[q]) return xs[p] > xs[q];
+        if (ys[p] != ys[q]) return ys[p] > ys[q];
+        return p < q;
+    }
+
+
+    // Farther left of a→b (exactly), then closer to a, then lower index
+    static boolean isFarther(double[] xs, double[] ys, int p, int q,
+                             double ax, double ay, double bx, double by) {
+        int c = Orientation.compareDistance(ax, ay, bx, by, xs[p], ys[p], xs[q], ys[q]);
+        if (c != 0) return c > 0;
+        return closerToA(xs, ys, p, q, ax, ay, bx, by);
+    }
+
+
+    // For p and q exactly as far from a→b, on a line parallel to it: p - q is a multiple
+    // of b - a, so one coordinate, compared in the direction of a→b, orders them exactly
+    static boolean closerToA(double[] xs, double[] ys, int p, int q,
+                             double ax, double ay, double bx, double by) {
+        if (xs[p] != xs[q]) return xs[p] < xs[q] == bx > ax;
+        if (ys[p] != ys[q]) return ys[p] < ys[q] == by > ay;
+        return p < q;
+    }
+
+
+    private void swap(int i, int j) {
+        int t = idx[i];
+        idx[i] = idx[j];
+        idx[j] = t;
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.List;
+import java.util.Objects;
+
+// Diameter, width and smallest enclosing rectangle of a hull in O(h) with rotating
+// calipers (Shamos; Toussaint, "Solving Geometric Problems with the Rotating Calipers").
+// While edge i walks around the hull, three vertices walk along with it and only ever
+// move forward: the one farthest from the edge's line and the extremes along the edge in
+// both directions. The farthest vertex gives the antipodal pairs, hence the diameter, and
+// the width; all three give the rectangle with a side on edge i, and the smallest
+// rectangle has a side on some hull edge (Freeman and Shapira). The arithmetic is
+// rounded, so on near ties the winner may be one that is only as good up to rounding.
+public final class RotatingCalipers {
+    private RotatingCalipers() {
+    }
+
+
+    public static HullMetrics measure(List<Point> hull) {
+        if (hull == null)
+            throw new IllegalArgumentException("Hull is null");
+        return measureVertices(QuickHull.xsOf(hull), QuickHull.ysOf(hull));
+    }
+
+
+    // hull holds indices into xs/ys, counter-clockwise and convex as computeHull returns them
+    public static HullMetrics measure(double[] xs, double[] ys, int[] hull) {
+        if (xs == null || ys == null || hull == null)
+            throw new IllegalArgumentException("Array is null");
+
+        double[] hxs = new double[hull.length];
+        double[] hys = new double[hull.length];
+        for (int i = 0; i < hull.length; i++) {
+            hxs[i] = xs[Objects.checkIndex(hull[i], xs.length)];
+            hys[i] = ys[Objects.checkIndex(hull[i], ys.length)];
+        }
+        return measureVertices(hxs, hys);
+    }
+
+
+    private static HullMetrics measureVertices(double[] xs, double[] ys) {
+        int h = xs.length;
+        if (h == 0)
+            throw new IllegalArgumentException("Hull is empty");
+
+        if (h < 3) {
+            // A point or a segment: the rectangle collapses onto it
+            int last = h - 1;
+            double[] rectangleXs = {xs[0], xs[last], xs[last], xs[0]};
+            double[] rectangleYs = {ys[0], ys[last], ys[last], ys[0]};
+            return new HullMetrics(0.0, Math.hypot(xs[last] - xs[0], ys[last] - ys[0]), 0, last,
+                    0.0, 0, 0, 0.0, rectangleXs, rectangleYs);
+        }
+
+        // Shoelace around vertex 0, which keeps far-off hulls accurate
+        double sum = 0.0;
+        for (int i = 1; i + 1 < h; i++) {
+            sum += (xs[i] - xs[0]) * (ys[i + 1] - ys[0]) - (xs[i + 1] - xs[0]) * (ys[i] - ys[0]);
+        }
+
+        double diameter2 = -1.0, width = Double.POSITIVE_INFINITY, rectangle = Double.POSITIVE_INFINITY;
+        int diameterFrom = 0, diameterTo = 0, widthEdge = 0, widthVertex = 0;
+        int bestEdge = 0, bestFar = 0, bestRight = 0, bestLeft = 0;
+
+        int far = 1, right = 1, left = -1;
+        for (int i = 0; i < h; i++) {
+            int j = next(i, h);
+            double ex = xs[j] - xs[i], ey = ys[j] - ys[i];
+
+            while (height(xs, ys, i, ex, ey, next(far, h)) > height(xs, ys, i, ex, ey, far)) far = next(far, h);
+            while (along(xs, ys, i, ex, ey, next(right, h)) > along(xs, ys, i, ex, ey, right)) right = next(right, h);
+            if (left < 0) left = far;
+            while (along(xs, ys, i, ex, ey, next(left, h)) < along(xs, ys, i, ex, ey, left)) left = next(left, h);
+
+            // Both ends of the edge are antipodal to the farthest vertex
+            double d = distance2(xs, ys, i, far);
+            if (d > diameter2) {
+                diameter2 = d;
+                diameterFrom = i;
+                diameterTo = far;
+            }
+            d = distance2(xs, ys, j, far);
+            if (d > diameter2) {
+                diameter2 = d;
+                diameterFrom = j;
+                diameterTo = far;
+            }
+
+            double length2 = ex * ex + ey * ey;
+            double height = height(xs, ys, i, ex, ey, far);
+            double edgeWidth = height / Math.sqrt(length2);
+            if (edgeWidth < width) {
+                width = edgeWidth;
+                widthEdge = i;
+                widthVertex = far;
+            }
+
+            // Extent along the edge times extent across it, both scaled by the edge length
+            double area = (along(xs, ys, i, ex, ey, right) - along(xs, ys, i, ex, ey, left)) * height / length2;
+            if (area < rectangle) {
+                rectangle = area;
+                bestEdge = i;
+                bestFar = far;
+                bestRight = right;
+                bestLeft = left;
+            }
+        }
+
+        // Corners from the unit vectors along the best edge and across it, into the hull
+        int j = next(bestEdge, h);
+        double length = Math.hypot(xs[j] - xs[bestEdge], ys[j] - ys[bestEdge]);
+        double ux = (xs[j] - xs[bestEdge]) / length, uy = (ys[j] - ys[bestEdge]) / length;
+        double ox = xs[bestEdge], oy = ys[bestEdge];
+        double min = (xs[bestLeft] - ox) * ux + (ys[bestLeft] - oy) * uy;
+        double max = (xs[bestRight] - ox) * ux + (ys[bestRight] - oy) * uy;
+        double across = (xs[bestFar] - ox) * -uy + (ys[bestFar] - oy) * ux;
+        double[] rectangleXs = {
+                ox + min * ux, ox + max * ux, ox + max * ux - across * uy, ox + min * ux - across * uy};
+        double[] rectangleYs = {
+                oy + min * uy, oy + max * uy, oy + max * uy + across * ux, oy + min * uy + across * ux};
+
+        return new HullMetrics(Math.abs(sum) / 2.0, Math.sqrt(diameter2), diameterFrom, diameterTo,
+                width, widthEdge, widthVertex, rectangle, rectangleXs, rectangleYs);
+    }
+
+
+    // Twice the area of the triangle of edge i and vertex k, the edge length times k's distance
+    private static double height(double[] xs, double[] ys, int i, double ex, double ey, int k) {
+        return ex * (ys[k] - ys[i]) - ey * (xs[k] - xs[i]);
+    }
+
+
+    // Projection of vertex k onto edge i, times the edge length
+    private static double along(double[] xs, double[] ys, int i, double ex, double ey, int k) {
+        return ex * (xs[k] - xs[i]) + ey * (ys[k] - ys[i]);
+    }
+
+
+    private static double distance2(double[] xs, double[] ys, int a, int b) {
+        double dx = xs[b] - xs[a], dy = ys[b] - ys[a];
+        return dx * dx + dy * dy;
+    }
+
+
+    private static int next(int vertex, int h) {
+        return vertex + 1 == h ? 0 : vertex + 1;
+    }
+}
@@ -0,0 +1,115 @@
+// The linear scans of the Akl–Toussaint prefilter: the extremes along the axes and
+// diagonals, and compaction against a convex polygon. They are counted loops with no
+// branches on the data (the rare exact fallback aside), so HotSpot unrolls them and turns
+// the selects into conditional moves. Every load goes through the index array, a gather
+// C2 does not vectorize, so they run as scalar code on every CPU.
+final class ScanKernels {
+    private ScanKernels() {
+    }
+
+
+    // out = {min, max} of x, y, x + y and x - y in that order over the points ids[from..to),
+    // the extremes along the axes and diagonals. False if some coordinate is not finite,
+    // the values are of no use then.
+    static boolean extremes(double[] xs, double[] ys, int[] ids, int from, int to, double[] out) {
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double minSum = Double.POSITIVE_INFINITY, maxSum = Double.NEGATIVE_INFINITY;
+        double minDiff = Double.POSITIVE_INFINITY, maxDiff = Double.NEGATIVE_INFINITY;
+        double finite = 0.0;    // turns NaN with the first infinite or NaN coordinate
+        for (int i = from; i < to; i++) {
+            int p = ids[i];
+            double x = xs[p], y = ys[p];
+            double sum = x + y, diff = x - y;
+            minX = x < minX ? x : minX;
+            maxX = x > maxX ? x : maxX;
+            minY = y < minY ? y : minY;
+            maxY = y > maxY ? y : maxY;
+            minSum = sum < minSum ? sum : minSum;
+            maxSum = sum > maxSum ? sum : maxSum;
+            minDiff = diff < minDiff ? diff : minDiff;
+            maxDiff = diff > maxDiff ? diff : maxDiff;
+            finite += (x - x) + (y - y);
+        }
+        out[0] = minX;
+        out[1] = maxX;
+        out[2] = minY;
+        out[3] = maxY;
+        out[4] = minSum;
+        out[5] = maxSum;
+        out[6] = minDiff;
+        out[7] = maxDiff;
+        return finite == 0.0;
+    }
+
+
+    // out[k] = lowest point index among ids[from..to) whose k-th value in the order of
+    // extremes() equals values[k], Integer.MAX_VALUE if there is none
+    static void lowestIndices(double[] xs, double[] ys, int[] ids, int from, int to,
+                              double[] values, int[] out) {
+        double minX = values[0], maxX = values[1], minY = values[2], maxY = values[3];
+        double minSum = values[4], maxSum = values[5], minDiff = values[6], maxDiff = values[7];
+        int atMinX = Integer.MAX_VALUE, atMaxX = Integer.MAX_VALUE;
+        int atMinY = Integer.MAX_VALUE, atMaxY = Integer.MAX_VALUE;
+        int atMinSum = Integer.MAX_VALUE, atMaxSum = Integer.MAX_VALUE;
+        int atMinDiff = Integer.MAX_VALUE, atMaxDiff = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            int p = ids[i];
+            double x = xs[p], y = ys[p];
+            double sum = x + y, diff = x - y;
+            atMinX = x == minX && p < atMinX ? p : atMinX;
+            atMaxX = x == maxX && p < atMaxX ? p : atMaxX;
+            atMinY = y == minY && p < atMinY ? p : atMinY;
+            atMaxY = y == maxY && p < atMaxY ? p : atMaxY;
+            atMinSum = sum == minSum && p < atMinSum ? p : atMinSum;
+            atMaxSum = sum == maxSum && p < atMaxSum ? p : atMaxSum;
+            atMinDiff = diff == minDiff && p < atMinDiff ? p : atMinDiff;
+            atMaxDiff = diff == maxDiff && p < atMaxDiff ? p : atMaxDiff;
+        }
+        out[0] = atMinX;
+        out[1] = atMaxX;
+        out[2] = atMinY;
+        out[3] = atMaxY;
+        out[4] = atMinSum;
+        out[5] = atMaxSum;
+        out[6] = atMinDiff;
+        out[7] = atMaxDiff;
+    }
+
+
+    // Moves the points of ids[from..to) that are not strictly inside the counter-clockwise
+    // convex polygon (polyX, polyY)[0..vertices) to the front, in order, and returns the
+    // new end. Edge e runs from vertex e - 1 to vertex e; bounds[e] is its
+    // Orientation.errorBound for the bounding box of all points, and only points the
+    // bounds leave unsure about are tested exactly.
+    static int compactOutside(double[] xs, double[] ys, int[] ids, int from, int to,
+                              double[] polyX, double[] polyY, double[] bounds, int vertices) {
+        int end = from;
+        for (int i = from; i < to; i++) {
+            int p = ids[i];
+            double x = xs[p], y = ys[p];
+            boolean inside = true;
+            boolean unsure = false;     // within the bound, or NaN after an overflow
+            for (int e = 0, s = vertices - 1; e < vertices; s = e++) {
+                double ax = polyX[s], ay = polyY[s];
+                double c = (polyX[e] - ax) * (y - ay) - (polyY[e] - ay) * (x - ax);
+                inside &= c > bounds[e];
+                unsure |= !(Math.abs(c) > bounds[e]);
+            }
+            if (unsure) inside = isInside(polyX, polyY, vertices, x, y);
+
+            ids[end] = p;
+            end += inside ? 0 : 1;
+        }
+        return end;
+    }
+
+
+    static boolean isInside(double[] polyX, double[] polyY, int vertices, double x, double y) {
+        if (vertices < 3) return false;
+        for (int i = 0, j = vertices - 1; i < vertices; j = i++) {
+            if (Orientation.orientation(polyX[j], polyY[j], polyX[i], polyY[i], x, y) <= 0) return false;
+        }
+        return true;
+    }
+}
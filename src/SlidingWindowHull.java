@@ -0,0 +1,180 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Convex hull of the latest points of a stream: the last maxPoints points, the points of
+// the last span time units, or both. The window is a queue made of two stacks (as in
+// sliding-window aggregation): new points go into the back, an IncrementalHull; the front
+// is a journaled IncrementalHull built from the older points newest first, so expiring
+// the oldest point undoes its latest insertion; as the latest of equal points takes the
+// vertex there, the front keeps the oldest of them, like the back does. When the front
+// runs empty, the back is turned over into a new front. Every point is inserted twice
+// and undone once, which keeps updates at amortized O(log h); the window's hull merges
+// the two hulls, O(h log h), and only when asked for. Memory is the points in the window
+// plus the two hulls.
+public class SlidingWindowHull {
+    private final int maxPoints;
+    private final long span;
+
+    // Points in the window, oldest first, in a ring buffer [head, head + size)
+    private Point[] points = new Point[16];
+    private long[] times = new long[16];
+    private int head;
+    private int size;
+    private long latest = 0;
+    private boolean started = false;
+
+    // The oldest frontSize points are in front, the others in back
+    private IncrementalHull front = new IncrementalHull(true, true);
+    private IncrementalHull back = new IncrementalHull();
+    private int frontSize;
+
+    // Hull and area of the window, computed on demand
+    private HullResult merged;
+    private List<Point> hull;
+
+
+    public SlidingWindowHull(int maxPoints, long span) {
+        if (maxPoints < 1)
+            throw new IllegalArgumentException("Window must hold at least one point: " + maxPoints);
+        if (span < 1)
+            throw new IllegalArgumentException("Window span must be positive: " + span);
+        this.maxPoints = maxPoints;
+        this.span = span;
+    }
+
+
+    // The last points points
+    public static SlidingWindowHull ofCount(int points) {
+        return new SlidingWindowHull(points, Long.MAX_VALUE);
+    }
+
+
+    // The points with a time in (latest - span, latest], in any unit the caller uses
+    public static SlidingWindowHull ofSpan(long span) {
+        return new SlidingWindowHull(Integer.MAX_VALUE, span);
+    }
+
+
+    // Adds p at the time of the latest point (0 for the first), for count windows
+    public void add(Point p) {
+        add(p, latest);
+    }
+
+
+    // Times must not decrease from one call to the next
+    public void add(Point p, long time) {
+        if (p == null)
+            throw new IllegalArgumentException("Point is null");
+
+        advance(time);
+        if (size == points.length) grow();
+        int slot = (head + size) % points.length;
+        points[slot] = p;
+        times[slot] = time;
+        size++;
+        back.add(p);
+        changed();
+        expire();
+    }
+
+
+    // Moves the window to time without adding a point, expiring what falls out of it
+    public void advance(long time) {
+        if (started && time < latest)
+            throw new IllegalArgumentException("Time goes backwards: " + time + " after " + latest);
+        started = true;
+        latest = time;
+        expire();
+    }
+
+
+    // Number of points in the window
+    public int size() {
+        return size;
+    }
+
+
+    // Hull of the window counter-clockwise, starting at the point with the smallest x,
+    // with the vertices QuickHull.computeHull would find for the window's points: of
+    // equal points the oldest
+    public List<Point> getHull() {
+        merge();
+        return hull;
+    }
+
+
+    public double getArea() {
+        merge();
+        return merged.area;
+    }
+
+
+    private void expire() {
+        while (size > 0 && (size > maxPoints || Long.compareUnsigned(latest - times[head], span) >= 0)) {
+            if (frontSize == 0) turnOver();
+            front.undo();
+            frontSize--;
+            points[head] = null;
+            head = (head + 1) % points.length;
+            size--;
+            changed();
+        }
+    }
+
+
+    // Rebuilds the front from all points in the window, newest first; the back starts over
+    private void turnOver() {
+        front = new IncrementalHull(true, true);
+        for (int i = size - 1; i >= 0; i--) front.add(points[(head + i) % points.length]);
+        frontSize = size;
+        back = new IncrementalHull();
+    }
+
+
+    private void merge() {
+        if (merged != null) return;
+
+        // Front vertices are older than back vertices, so the first of equal candidates is
+        // the oldest point. Fewer than three points in the window are their own hull,
+        // oldest first, like for computeHull; for more, the candidates are hull vertices
+        // and need a real hull even when there are only one or two of them.
+        List<Point> candidates = new ArrayList<>();
+        if (size < 3) {
+            for (int i = 0; i < size; i++) candidates.add(points[(head + i) % points.length]);
+        } else {
+            candidates.addAll(front.vertices());
+            candidates.addAll(back.vertices());
+        }
+        double[] xs = QuickHull.xsOf(candidates);
+        double[] ys = QuickHull.ysOf(candidates);
+        QuickHullEngine engine = new QuickHullEngine();
+        engine.setMeasuring(true);
+        engine.setNormalizing(size >= 3);
+        int h = engine.compute(xs, ys, 0, xs.length);
+        merged = new HullResult(Arrays.copyOf(engine.hull(), h), engine.area(), engine.perimeter(),
+                engine.centroidX(), engine.centroidY());
+        hull = Collections.unmodifiableList(merged.select(candidates));
+    }
+
+
+    private void changed() {
+        merged = null;
+        hull = null;
+    }
+
+
+    private void grow() {
+        int capacity = 2 * points.length;
+        Point[] newPoints = new Point[capacity];
+        long[] newTimes = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            newPoints[i] = points[(head + i) % points.length];
+            newTimes[i] = times[(head + i) % points.length];
+        }
+        points = newPoints;
+        times = newTimes;
+        head = 0;
+    }
+}
@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApproximateHullTest {
+
+    @Test
+    void boundsHoldAgainstBruteForce() {
+        Random random = new Random(20);
+        for (int round = 0; round < 300; round++) {
+            int n = random.nextInt(round < 30 ? 4 : 80);
+            double[][] points = BruteForce.points(random, n, round);
+            double[] xs = points[0], ys = points[1];
+            int[] exact = BruteForce.hull(xs, ys);
+            double exactArea = BruteForce.area(xs, ys, exact);
+            String message = "round " + round;
+
+            int strips = 1 + random.nextInt(6);
+            ApproximateHull approximate = ApproximateHull.compute(xs, ys, 0, n, strips);
+            if (n <= 2 * strips + 2) assertArrayEquals(exact, approximate.indices, message);
+
+            // A convex polygon of input points inside the exact hull, counter-clockwise from the smallest x
+            int[] inner = approximate.indices;
+            double[] ixs = new double[inner.length], iys = new double[inner.length];
+            for (int i = 0; i < inner.length; i++) {
+                ixs[i] = xs[inner[i]];
+                iys[i] = ys[inner[i]];
+                assertTrue(inside(xs, ys, exact, ixs[i], iys[i]), message);
+            }
+            int[] identity = new int[inner.length];
+            for (int i = 0; i < identity.length; i++) identity[i] = i;
+            if (n >= 3) assertArrayEquals(identity, BruteForce.hull(ixs, iys), message);
+
+            double slack = 1e-9 * Math.max(1, exactArea);
+            assertEquals(BruteForce.area(ixs, iys, identity), approximate.area, slack, message);
+            assertTrue(approximate.area <= exactArea + slack, message);
+            assertTrue(exactArea <= approximate.maxArea + slack, message);
+            for (int p = 0; p < n; p++) {
+                assertTrue(distance(ixs, iys, xs[p], ys[p]) <= approximate.error + 1e-9, message + ", point " + p);
+            }
+        }
+    }
+
+
+    @Test
+    void toleranceBoundsTheError() {
+        Random random = new Random(200);
+        for (int round = 0; round < 100; round++) {
+            double[][] points = BruteForce.points(random, 200, round);
+            double tolerance = 0.05 + random.nextDouble();
+            ApproximateHull approximate = ApproximateHull.computeWithin(points[0], points[1], 0, 200, tolerance);
+            assertTrue(approximate.error <= tolerance, "round " + round);
+        }
+
+        // Finer than the strips can go, the hull is exact
+        double[] xs = {0, 1e9, 0.5, 3}, ys = {0, 0, 1, -1};
+        ApproximateHull exact = ApproximateHull.computeWithin(xs, ys, 0, 4, 1e-9);
+        assertArrayEquals(BruteForce.hull(xs, ys), exact.indices);
+        assertEquals(0.0, exact.error);
+    }
+
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        double[] xs = {0, 1, Double.NaN}, ys = {0, 1, 2};
+        assertThrows(IllegalArgumentException.class, () -> ApproximateHull.compute(xs, ys, 0, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> ApproximateHull.computeWithin(xs, ys, 0, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> ApproximateHull.computeWithin(xs, ys, 0, 3, 1));
+    }
+
+
+    private static boolean inside(double[] xs, double[] ys, int[] hull, double x, double y) {
+        if (hull.length < 3) return distance(select(xs, hull), select(ys, hull), x, y) == 0;
+        for (int i = 0; i < hull.length; i++) {
+            int a = hull[i], b = hull[(i + 1) % hull.length];
+            if (Orientation.orientation(xs[a], ys[a], xs[b], ys[b], x, y) < 0) return false;
+        }
+        return true;
+    }
+
+
+    // Distance from (x, y) to the convex polygon, 0 inside
+    private static double distance(double[] xs, double[] ys, double x, double y) {
+        int n = xs.length;
+        boolean inside = n >= 3;
+        double distance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            if (Orientation.orientation(xs[i], ys[i], xs[j], ys[j], x, y) < 0) inside = false;
+            double dx = xs[j] - xs[i], dy = ys[j] - ys[i];
+            double length2 = dx * dx + dy * dy;
+            double t = length2 == 0 ? 0 : Math.max(0, Math.min(1, ((x - xs[i]) * dx + (y - ys[i]) * dy) / length2));
+            distance = Math.min(distance, Math.hypot(x - xs[i] - t * dx, y - ys[i] - t * dy));
+        }
+        return inside ? 0 : distance;
+    }
+
+
+    private static double[] select(double[] values, int[] indices) {
+        double[] selected = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) selected[i] = values[indices[i]];
+        return selected;
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Reference hulls for the tests, straight from the definition: an edge p→q is on the
+// hull if every other point is left of it or on the segment between p and q. O(n³), for
+// small inputs only, with the conventions of QuickHull.computeHull: counter-clockwise
+// from the smallest x (then y), no collinear vertices, the first of equal points, and
+// fewer than three points as given.
+final class BruteForce {
+
+    private BruteForce() {
+    }
+
+    static int[] hull(double[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        // First of every group of equal points
+        List<Integer> distinct = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            boolean first = true;
+            for (int j : distinct) first &= xs[i] != xs[j] || ys[i] != ys[j];
+            if (first) distinct.add(i);
+        }
+        int start = distinct.get(0);
+        for (int p : distinct) {
+            if (xs[p] < xs[start] || xs[p] == xs[start] && ys[p] < ys[start]) start = p;
+        }
+        if (distinct.size() == 1) return new int[]{start};
+
+        List<Integer> hull = new ArrayList<>();
+        int p = start;
+        do {
+            hull.add(p);
+            p = next(xs, ys, distinct, p);
+        } while (p != start);
+        return hull.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+
+    static List<Point> hull(List<Point> points) {
+        int[] hull = hull(QuickHull.xsOf(points), QuickHull.ysOf(points));
+        List<Point> selected = new ArrayList<>();
+        for (int i : hull) selected.add(points.get(i));
+        return selected;
+    }
+
+
+    // Shoelace area of the hull, around its first vertex
+    static double area(double[] xs, double[] ys, int[] hull) {
+        double sum = 0;
+        for (int i = 1; i + 1 < hull.length; i++) {
+            int a = hull[0], b = hull[i], c = hull[i + 1];
+            sum += (xs[b] - xs[a]) * (ys[c] - ys[a]) - (ys[b] - ys[a]) * (xs[c] - xs[a]);
+        }
+        return sum / 2;
+    }
+
+
+    static double area(List<Point> hull) {
+        int[] all = new int[hull.size()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        return area(QuickHull.xsOf(hull), QuickHull.ysOf(hull), all);
+    }
+
+
+    // Random points: on a small integer grid (duplicates and collinear points), on a
+    // line, or on a circle, chosen by kind modulo 3
+    static double[][] points(Random random, int n, int kind) {
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (kind % 3 == 0) {
+                xs[i] = random.nextInt(8);
+                ys[i] = random.nextInt(8);
+            } else if (kind % 3 == 1) {
+                xs[i] = random.nextInt(8);
+                ys[i] = 3 - 2 * xs[i];
+            } else {
+                double angle = 2 * Math.PI * random.nextInt(64) / 64;
+                xs[i] = 10 * Math.cos(angle);
+                ys[i] = 10 * Math.sin(angle);
+            }
+        }
+        return new double[][]{xs, ys};
+    }
+
+
+    private static int next(double[] xs, double[] ys, List<Integer> distinct, int p) {
+        for (int q : distinct) {
+            if (q != p && isEdge(xs, ys, distinct, p, q)) return q;
+        }
+        throw new AssertionError("No hull edge leaves " + p + " of " + Arrays.toString(xs));
+    }
+
+
+    private static boolean isEdge(double[] xs, double[] ys, List<Integer> distinct, int p, int q) {
+        for (int r : distinct) {
+            if (r == p || r == q) continue;
+            int side = Orientation.orientation(xs[p], ys[p], xs[q], ys[q], xs[r], ys[r]);
+            if (side < 0) return false;
+            if (side == 0 && !(Math.min(xs[p], xs[q]) <= xs[r] && xs[r] <= Math.max(xs[p], xs[q])
+                    && Math.min(ys[p], ys[q]) <= ys[r] && ys[r] <= Math.max(ys[p], ys[q]))) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkedHullTest {
+
+    @Test
+    void randomChunksMatchBruteForce() {
+        Random random = new Random(10);
+        for (int round = 0; round < 300; round++) {
+            int n = random.nextInt(round < 30 ? 4 : 60);
+            double[][] points = BruteForce.points(random, n, round);
+            double[] xs = points[0], ys = points[1];
+
+            ChunkedHull hull = new ChunkedHull();
+            for (int start = 0; start < n; ) {
+                int length = Math.min(n - start, random.nextInt(6));
+                hull.add(xs, ys, start, length);
+                start += length;
+            }
+            assertEquals(n, hull.getPointCount());
+            assertArrayEquals(longs(BruteForce.hull(xs, ys)), hull.getHull(), "round " + round);
+        }
+    }
+
+
+    @Test
+    void readsStreamsAndMappedFiles(@TempDir Path dir) throws IOException {
+        Random random = new Random(100);
+        for (int round = 0; round < 30; round++) {
+            int n = random.nextInt(50);
+            double[][] points = BruteForce.points(random, n, round);
+            long[] expected = longs(BruteForce.hull(points[0], points[1]));
+            byte[] bytes = bytes(points[0], points[1]);
+            int chunkPoints = 1 + random.nextInt(8);
+
+            assertArrayEquals(expected, ChunkedHull.read(new ByteArrayInputStream(bytes), chunkPoints).getHull());
+
+            Path file = dir.resolve("points" + round + ".bin");
+            Files.write(file, bytes);
+            try (MappedPointFile mapped = MappedPointFile.open(file, 3 * MappedPointFile.BYTES_PER_POINT)) {
+                assertArrayEquals(expected, ChunkedHull.read(mapped, chunkPoints).getHull());
+            }
+        }
+    }
+
+
+    @Test
+    void truncatedStreamIsAnError() {
+        byte[] bytes = Arrays.copyOf(bytes(new double[]{1, 2}, new double[]{3, 4}), 24);
+        assertThrows(EOFException.class, () -> ChunkedHull.read(new ByteArrayInputStream(bytes), 4));
+    }
+
+
+    static byte[] bytes(double[] xs, double[] ys) {
+        ByteBuffer buffer = ByteBuffer.allocate(xs.length * MappedPointFile.BYTES_PER_POINT).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < xs.length; i++) buffer.putDouble(xs[i]).putDouble(ys[i]);
+        return buffer.array();
+    }
+
+
+    static long[] longs(int[] values) {
+        return Arrays.stream(values).asLongStream().toArray();
+    }
+}
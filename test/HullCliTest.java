@@ -0,0 +1,163 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HullCliTest {
+
+    @Test
+    void csvDataSetsMatchBruteForce() {
+        Random random = new Random(23);
+        for (int round = 0; round < 40; round++) {
+            List<double[][]> sets = sets(random, round);
+            StringBuilder csv = new StringBuilder("x;y\n# generated\n");
+            for (double[][] set : sets) {
+                for (int i = 0; i < set[0].length; i++) {
+                    csv.append(set[0][i]).append(i % 2 == 0 ? ", " : "\t").append(set[1][i]).append('\n');
+                }
+                csv.append('\n');
+            }
+            int chunk = 1 + random.nextInt(5);
+
+            String out = run(csv.toString().getBytes(StandardCharsets.UTF_8), "--chunk", "" + chunk, "--quiet", "-");
+            List<double[]> hulls = readCsv(out);
+            assertEquals(sets.size(), hulls.size(), "round " + round);
+            for (int s = 0; s < sets.size(); s++) {
+                assertArrayEquals(hullCoordinates(sets.get(s)), hulls.get(s), "round " + round + ", data set " + s);
+            }
+
+            // JSON carries the indices into the data set
+            String json = run(csv.toString().getBytes(StandardCharsets.UTF_8),
+                    "--output", "json", "--chunk", "" + chunk, "--quiet", "-");
+            Matcher indices = Pattern.compile("\"indices\": \\[([^]]*)]").matcher(json);
+            for (double[][] set : sets) {
+                assertTrue(indices.find(), json);
+                int[] expected = BruteForce.hull(set[0], set[1]);
+                int[] actual = indices.group(1).isEmpty() ? new int[0]
+                        : Arrays.stream(indices.group(1).split(", ")).mapToInt(Integer::parseInt).toArray();
+                assertArrayEquals(expected, actual, "round " + round);
+            }
+        }
+    }
+
+
+    @Test
+    void binaryInputsMatchBruteForce(@TempDir Path dir) throws IOException {
+        Random random = new Random(230);
+        for (int round = 0; round < 30; round++) {
+            double[][] set = BruteForce.points(random, random.nextInt(round < 5 ? 3 : 60), round);
+            byte[] bytes = ChunkedHullTest.bytes(set[0], set[1]);
+            Path file = dir.resolve("points" + round + ".bin");
+            Files.write(file, bytes);
+            double[] expected = hullCoordinates(set);
+
+            for (String input : new String[]{"-", file.toString()}) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                int status = HullCli.run(new String[]{"--input", "bin", "--output", "bin", "--chunk", "7", "--quiet", input},
+                        new ByteArrayInputStream(bytes), new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+                assertEquals(0, status);
+
+                ByteBuffer result = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+                int h = (int) result.getLong();
+                double area = result.getDouble();
+                double[] hull = new double[2 * h];
+                for (int i = 0; i < hull.length; i++) hull[i] = result.getDouble();
+                assertArrayEquals(expected, hull, "round " + round + ", " + input);
+                assertEquals(BruteForce.area(set[0], set[1], BruteForce.hull(set[0], set[1])), area, 1e-9);
+                assertEquals(0, result.remaining());
+            }
+        }
+    }
+
+
+    @Test
+    void failuresSetTheExitCode(@TempDir Path dir) {
+        assertEquals(2, status(new byte[0]));
+        assertEquals(2, status(new byte[0], "--output", "xml", "-"));
+        assertEquals(2, status(new byte[0], "--chunk", "0", "-"));
+        assertEquals(1, status(new byte[0], dir.resolve("missing.csv").toString()));
+        assertEquals(1, status("0,0\n1,1\nnot a point\n".getBytes(StandardCharsets.UTF_8), "--quiet", "-"));
+        assertEquals(1, status(new byte[20], "--input", "bin", "--quiet", "-"));
+        assertEquals(0, status("0,0\n1,1\n".getBytes(StandardCharsets.UTF_8), "--quiet", "-"));
+    }
+
+
+    // A few data sets of grid, line and circle points, with duplicates and collinear
+    // runs; the last one may have fewer than three points, and none if it is alone
+    private static List<double[][]> sets(Random random, int round) {
+        List<double[][]> sets = new ArrayList<>();
+        int count = 1 + random.nextInt(4);
+        for (int s = 0; s < count; s++) {
+            int n = 3 + random.nextInt(40);
+            if (s == count - 1 && round % 3 == 0) n = count == 1 ? random.nextInt(3) : 1 + random.nextInt(2);
+            sets.add(BruteForce.points(random, n, round + s));
+        }
+        return sets;
+    }
+
+
+    private static double[] hullCoordinates(double[][] set) {
+        int[] hull = BruteForce.hull(set[0], set[1]);
+        double[] coordinates = new double[2 * hull.length];
+        for (int i = 0; i < hull.length; i++) {
+            coordinates[2 * i] = set[0][hull[i]];
+            coordinates[2 * i + 1] = set[1][hull[i]];
+        }
+        return coordinates;
+    }
+
+
+    // The hull of every data set in CSV output, as x, y pairs
+    private static List<double[]> readCsv(String csv) {
+        List<double[]> hulls = new ArrayList<>();
+        List<Double> current = null;
+        for (String line : csv.split("\n", -1)) {
+            if (line.startsWith("#")) {
+                current = new ArrayList<>();
+            } else if (line.isEmpty()) {
+                if (current != null) hulls.add(current.stream().mapToDouble(Double::doubleValue).toArray());
+                current = null;
+            } else {
+                String[] pair = line.split(",");
+                current.add(Double.parseDouble(pair[0]));
+                current.add(Double.parseDouble(pair[1]));
+            }
+        }
+        return hulls;
+    }
+
+
+    private static String run(byte[] stdin, String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = HullCli.run(args, new ByteArrayInputStream(stdin), new PrintStream(out), new PrintStream(err));
+        assertEquals(0, status, err.toString(StandardCharsets.UTF_8));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+
+    private static int status(byte[] stdin, String... args) {
+        InputStream in = new ByteArrayInputStream(stdin);
+        PrintStream sink = new PrintStream(new ByteArrayOutputStream());
+        return HullCli.run(args, in, sink, sink);
+    }
+}
@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HullIndexTest {
+
+    // Integer coordinates and directions keep the dot products exact, so brute force can
+    // tell the extreme vertices apart
+    @Test
+    void queriesMatchBruteForce() {
+        Random random = new Random(21);
+        for (int round = 0; round < 200; round++) {
+            double[][] points = BruteForce.points(random, random.nextInt(round < 30 ? 4 : 40), round % 2);
+            double[] xs = points[0], ys = points[1];
+            if (xs.length == 0) continue;
+            int[] hull = BruteForce.hull(xs, ys);
+            double[] hxs = new double[hull.length], hys = new double[hull.length];
+            for (int i = 0; i < hull.length; i++) {
+                hxs[i] = xs[hull[i]];
+                hys[i] = ys[hull[i]];
+            }
+            HullIndex index = new HullIndex(xs, ys, hull);
+            assertEquals(hull.length, index.size());
+
+            for (int qx = -2; qx <= 9; qx++) {
+                for (int qy = -2; qy <= 9; qy++) {
+                    String message = "round " + round + ", query (" + qx + ", " + qy + ")";
+                    assertEquals(contains(hxs, hys, qx, qy), index.contains(qx, qy), message);
+                    assertArrayEquals(tangents(hxs, hys, qx, qy), index.tangents(qx, qy), message);
+
+                    int extreme = index.extreme(qx, qy);
+                    for (int v = 0; v < hull.length; v++) {
+                        assertTrue(hxs[v] * qx + hys[v] * qy <= hxs[extreme] * qx + hys[extreme] * qy, message);
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void batchesMatchSingleQueries() {
+        Random random = new Random(210);
+        double[] xs = new double[500], ys = new double[500];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextGaussian();
+            ys[i] = random.nextGaussian();
+        }
+        HullIndex index = new HullIndex(xs, ys, QuickHull.computeHull(xs, ys, 0, xs.length));
+
+        int n = 40_000;
+        double[] qxs = new double[n], qys = new double[n];
+        for (int i = 0; i < n; i++) {
+            qxs[i] = 3 * random.nextGaussian();
+            qys[i] = 3 * random.nextGaussian();
+        }
+        boolean[] inside = new boolean[n];
+        int[] extremes = new int[n];
+        int[] tangents = new int[2 * n];
+        index.contains(qxs, qys, 0, n, inside);
+        index.extremes(qxs, qys, 0, n, extremes);
+        index.tangents(qxs, qys, 0, n, tangents);
+        for (int i = 0; i < n; i++) {
+            assertEquals(index.contains(qxs[i], qys[i]), inside[i]);
+            assertEquals(index.extreme(qxs[i], qys[i]), extremes[i]);
+            assertArrayEquals(index.tangents(qxs[i], qys[i]), new int[]{tangents[2 * i], tangents[2 * i + 1]});
+        }
+    }
+
+
+    @Test
+    void hullsThatAreNotStrictlyConvexAreRejected() {
+        double[] xs = {0, 1, 2, 1}, ys = {0, 0, 0, 1};
+        assertThrows(IllegalArgumentException.class, () -> new HullIndex(xs, ys, new int[]{0, 1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> new HullIndex(xs, ys, new int[]{0, 3, 2}));
+        assertThrows(IllegalStateException.class, () -> new HullIndex(xs, ys, new int[0]).extreme(1, 0));
+    }
+
+
+    private static boolean contains(double[] xs, double[] ys, double x, double y) {
+        int h = xs.length;
+        if (h < 3) {
+            return Orientation.orientation(xs[0], ys[0], xs[h - 1], ys[h - 1], x, y) == 0
+                    && Math.min(xs[0], xs[h - 1]) <= x && x <= Math.max(xs[0], xs[h - 1])
+                    && Math.min(ys[0], ys[h - 1]) <= y && y <= Math.max(ys[0], ys[h - 1]);
+        }
+        for (int i = 0; i < h; i++) {
+            if (visible(xs, ys, i, x, y)) return false;
+        }
+        return true;
+    }
+
+
+    // Start of the first and end of the last edge that sees the point, walking counter-clockwise
+    private static int[] tangents(double[] xs, double[] ys, double x, double y) {
+        int h = xs.length;
+        if (contains(xs, ys, x, y)) return new int[]{-1, -1};
+        if (h == 1) return new int[]{0, 0};
+        if (h == 2 && Orientation.orientation(xs[0], ys[0], xs[1], ys[1], x, y) == 0) {
+            int near = Math.abs(x - xs[0]) + Math.abs(y - ys[0]) < Math.abs(x - xs[1]) + Math.abs(y - ys[1]) ? 0 : 1;
+            return new int[]{near, near};
+        }
+        int first = -1, last = -1;
+        for (int i = 0; i < h; i++) {
+            if (!visible(xs, ys, i, x, y)) continue;
+            if (!visible(xs, ys, (i + h - 1) % h, x, y)) first = i;
+            if (!visible(xs, ys, (i + 1) % h, x, y)) last = (i + 1) % h;
+        }
+        return new int[]{first, last};
+    }
+
+
+    private static boolean visible(double[] xs, double[] ys, int edge, double x, double y) {
+        int j = (edge + 1) % xs.length;
+        return Orientation.orientation(xs[edge], ys[edge], xs[j], ys[j], x, y) < 0;
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalHullTest {
+
+    @Test
+    void everyPrefixMatchesBruteForce() {
+        Random random = new Random(5);
+        for (int round = 0; round < 100; round++) {
+            double[][] stream = BruteForce.points(random, 60, round);
+            IncrementalHull hull = new IncrementalHull();
+            List<Point> points = new ArrayList<>();
+            for (int i = 0; i < stream[0].length; i++) {
+                Point p = new Point(stream[0][i], stream[1][i]);
+                hull.add(p);
+                points.add(p);
+                List<Point> expected = BruteForce.hull(points);
+                assertEquals(expected, hull.getHull(), "round " + round + ", point " + i);
+                assertEquals(BruteForce.area(expected), hull.getArea(), 1e-9, "round " + round + ", point " + i);
+            }
+        }
+    }
+
+
+    @Test
+    void areaOfAFarOffStream() {
+        Random random = new Random(50);
+        IncrementalHull near = new IncrementalHull(), far = new IncrementalHull();
+        for (int i = 0; i < 1000; i++) {
+            // Multiples of 2^-10 stay exact next to 3e9
+            double x = random.nextInt(1024) / 1024.0, y = random.nextInt(1024) / 1024.0;
+            near.add(new Point(x, y));
+            far.add(new Point(-3e9 + x, 1e9 + y));
+        }
+        assertEquals(near.getArea(), far.getArea(), 1e-9);
+    }
+
+
+    // Like QuickHull.computeHull: neither sorted nor merged
+    @Test
+    void fewerThanThreePointsAreReturnedAsGiven() {
+        Point a = new Point(2, 1), b = new Point(0, 0), c = new Point(2, 1);
+        IncrementalHull hull = new IncrementalHull();
+        assertEquals(List.of(), hull.getHull());
+        hull.add(a);
+        assertEquals(List.of(a), hull.getHull());
+        hull.add(b);
+        assertEquals(List.of(a, b), hull.getHull());
+        assertEquals(QuickHull.computeHull(List.of(a, b)), hull.getHull());
+
+        IncrementalHull duplicates = new IncrementalHull();
+        duplicates.add(a);
+        duplicates.add(c);
+        assertEquals(List.of(a, c), duplicates.getHull());
+        duplicates.add(b);
+        assertEquals(List.of(b, a), duplicates.getHull());
+    }
+
+
+    @Test
+    void undoGoesBackToTheGivenPoints() {
+        Point a = new Point(1, 1), b = new Point(0, 0), c = new Point(0, 2);
+        IncrementalHull hull = new IncrementalHull(true, false);
+        hull.add(a);
+        hull.add(b);
+        hull.add(c);
+        assertEquals(List.of(b, a, c), hull.getHull());
+        hull.undo();
+        assertEquals(List.of(a, b), hull.getHull());
+        hull.undo();
+        assertEquals(List.of(a), hull.getHull());
+    }
+}
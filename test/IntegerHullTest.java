@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntegerHullTest {
+
+    @Test
+    void randomPointsMatchBruteForce() {
+        Random random = new Random(24);
+        for (int round = 0; round < 400; round++) {
+            int n = random.nextInt(round < 40 ? 4 : 60);
+            int offset = random.nextInt(3);
+            double[][] points = BruteForce.points(random, n, round);
+            int[] xs = new int[offset + n], ys = new int[offset + n];
+            for (int i = 0; i < n; i++) {
+                // Every fourth round spread out past the range of the long fast path
+                double scale = round % 4 == 3 ? 1 << 26 : 1;
+                xs[offset + i] = (int) Math.round(points[0][i] * scale);
+                ys[offset + i] = (int) Math.round(points[1][i] * scale);
+            }
+            double[] dxs = new double[n], dys = new double[n];
+            for (int i = 0; i < n; i++) {
+                dxs[i] = xs[offset + i];
+                dys[i] = ys[offset + i];
+            }
+            int[] expected = BruteForce.hull(dxs, dys);
+            for (int i = 0; i < expected.length; i++) expected[i] += offset;
+
+            int[] hull = IntegerHull.computeHull(xs, ys, offset, n);
+            assertArrayEquals(expected, hull, "round " + round);
+            assertEquals(doubledArea(xs, ys, hull), BigInteger.valueOf(IntegerHull.doubledArea(xs, ys, hull)), "round " + round);
+        }
+    }
+
+
+    @Test
+    void orientationIsExactOverTheWholeRange() {
+        Random random = new Random(240);
+        int[] edges = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        for (int round = 0; round < 100_000; round++) {
+            int[] c = new int[6];
+            for (int i = 0; i < 6; i++) c[i] = random.nextBoolean() ? edges[random.nextInt(edges.length)] : random.nextInt();
+            assertEquals(Orientation.orientation(c[0], c[1], c[2], c[3], c[4], c[5]),
+                    IntegerHull.orientation(c[0], c[1], c[2], c[3], c[4], c[5]));
+        }
+    }
+
+
+    @Test
+    void quantizedDoublesMatchBruteForce() {
+        double[] xs = {0.26, 1.01, 0.49, 0.74, 0.99, 0.5}, ys = {0.24, 0.0, 0.51, 0.26, 1.0, 1.26};
+        double[] grid = {0.25, 1.0, 0.5, 0.75, 1.0, 0.5}, gridYs = {0.25, 0.0, 0.5, 0.25, 1.0, 1.25};
+        assertArrayEquals(BruteForce.hull(grid, gridYs), IntegerHull.computeHull(xs, ys, 0, 6, 0.25));
+
+        assertThrows(IllegalArgumentException.class, () -> IntegerHull.computeHull(xs, ys, 0, 6, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntegerHull.computeHull(new double[]{1e10, 0, 1}, new double[]{0, 1, 1}, 0, 3, 1));
+    }
+
+
+    @Test
+    void doubledAreaBeyondALongIsAnError() {
+        int min = Integer.MIN_VALUE, max = Integer.MAX_VALUE;
+        int[] xs = {min, max, max, min}, ys = {min, min, max, max};
+        assertThrows(ArithmeticException.class, () -> IntegerHull.doubledArea(xs, ys, new int[]{0, 1, 2, 3}));
+    }
+
+
+    private static BigInteger doubledArea(int[] xs, int[] ys, int[] polygon) {
+        BigInteger sum = BigInteger.ZERO;
+        for (int i = 0; polygon.length >= 3 && i < polygon.length; i++) {
+            int a = polygon[i], b = polygon[(i + 1) % polygon.length];
+            sum = sum.add(BigInteger.valueOf((long) xs[a] * ys[b]).subtract(BigInteger.valueOf((long) xs[b] * ys[a])));
+        }
+        return sum.abs();
+    }
+}
@@ -0,0 +1,52 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedPointFileTest {
+
+    // Mappings of a few points each, so the scans cross many chunk boundaries
+    @Test
+    void hullOfMappedPointsMatchesBruteForce(@TempDir Path dir) throws IOException {
+        Random random = new Random(9);
+        for (int round = 0; round < 60; round++) {
+            int n = random.nextInt(round < 10 ? 4 : 80);
+            double[][] points = BruteForce.points(random, n, round);
+            Path file = dir.resolve("points" + round + ".bin");
+            Files.write(file, ChunkedHullTest.bytes(points[0], points[1]));
+
+            long chunkBytes = (1 + random.nextInt(5)) * MappedPointFile.BYTES_PER_POINT;
+            try (MappedPointFile mapped = MappedPointFile.open(file, chunkBytes)) {
+                assertEquals(n, mapped.size());
+                for (int i = 0; i < n; i++) {
+                    assertEquals(points[0][i], mapped.x(i));
+                    assertEquals(points[1][i], mapped.y(i));
+                }
+                long[] expected = ChunkedHullTest.longs(BruteForce.hull(points[0], points[1]));
+                assertArrayEquals(expected, mapped.computeHull(), "round " + round);
+                assertArrayEquals(expected, mapped.computeHull(new AklToussaint(4)), "round " + round);
+                assertEquals(2L * n * MappedPointFile.BYTES_PER_POINT, mapped.getLastBytesScanned());
+            }
+        }
+    }
+
+
+    @Test
+    void fileMustHoldWholePoints(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("odd.bin");
+        Files.write(file, new byte[24]);
+        assertThrows(IOException.class, () -> MappedPointFile.open(file));
+
+        Files.write(file, new byte[32]);
+        try (MappedPointFile mapped = MappedPointFile.open(file)) {
+            assertThrows(IndexOutOfBoundsException.class, () -> mapped.x(2));
+        }
+    }
+}
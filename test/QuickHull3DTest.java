@@ -0,0 +1,180 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuickHull3DTest {
+
+    @Test
+    void randomPointsMatchBruteForce() {
+        Random random = new Random(18);
+        for (int round = 0; round < 200; round++) {
+            int n = 4 + random.nextInt(30);
+            double[] xs = new double[n], ys = new double[n], zs = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = random.nextGaussian();
+                ys[i] = random.nextGaussian();
+                zs[i] = random.nextGaussian();
+            }
+            Hull3DResult hull = QuickHull3D.computeHull(xs, ys, zs, 0, n);
+
+            Set<List<Integer>> expected = bruteForceFaces(xs, ys, zs);
+            assertEquals(expected, faceSet(hull.faces), "round " + round);
+            assertEquals(expected.size(), hull.faceCount());
+            assertEquals(bruteForceVolume(xs, ys, zs, expected), hull.volume, 1e-12 * hull.volume);
+        }
+    }
+
+
+    // Every point of a 4x4x4 grid, each twice: coplanar faces, collinear edges and
+    // duplicates everywhere, yet only the corners are vertices
+    @Test
+    void gridKeepsOnlyTheCorners() {
+        List<Point3D> points = new ArrayList<>();
+        for (int copy = 0; copy < 2; copy++) {
+            for (int x = 0; x < 4; x++)
+                for (int y = 0; y < 4; y++)
+                    for (int z = 0; z < 4; z++) points.add(new Point3D(x, y, z));
+        }
+        Collections.shuffle(points, new Random(3));
+        Hull3DResult hull = QuickHull3D.computeHull(points);
+
+        Set<List<Double>> corners = new HashSet<>();
+        for (Point3D p : hull.select(points)) assertTrue(corners.add(List.of(p.x, p.y, p.z)), "duplicate " + p);
+        assertEquals(8, corners.size());
+        for (List<Double> corner : corners) {
+            for (double c : corner) assertTrue(c == 0 || c == 3, "not a corner: " + corner);
+        }
+        assertEquals(27.0, hull.volume, 1e-12);
+        assertEquals(54.0, hull.surfaceArea, 1e-12);
+        assertClosed(hull.faces);
+
+        double[] xs = QuickHull3D.xsOf(points), ys = QuickHull3D.ysOf(points), zs = QuickHull3D.zsOf(points);
+        for (int f = 0; f < hull.faces.length; f += 3) {
+            int a = hull.faces[f], b = hull.faces[f + 1], c = hull.faces[f + 2];
+            for (int p = 0; p < points.size(); p++) {
+                assertTrue(Orientation.orientation(xs[a], ys[a], zs[a], xs[b], ys[b], zs[b],
+                        xs[c], ys[c], zs[c], xs[p], ys[p], zs[p]) <= 0, "point " + p + " above face " + f / 3);
+            }
+        }
+    }
+
+
+    @Test
+    void solidsWithoutVolumeAreRejected() {
+        double[] line = {0, 1, 2, 3, 4};
+        double[] zero = new double[5];
+        assertThrows(IllegalArgumentException.class, () -> QuickHull3D.computeHull(line, zero, line, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> QuickHull3D.computeHull(zero, zero, zero, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> QuickHull3D.computeHull(line, line, line, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> QuickHull3D.computeHull(
+                new double[]{0, 1, 0, 1, 2}, new double[]{0, 0, 1, 1, 2}, zero, 0, 5));
+    }
+
+
+    // A unit cube far from the origin, where measuring from the origin would cancel
+    @Test
+    void volumeOfAFarOffCube() {
+        double o = 1e9;
+        double[] xs = {o, o + 1, o + 1, o, o, o + 1, o + 1, o};
+        double[] ys = {o, o, o + 1, o + 1, o, o, o + 1, o + 1};
+        double[] zs = {o, o, o, o, o + 1, o + 1, o + 1, o + 1};
+        Hull3DResult hull = QuickHull3D.computeHull(xs, ys, zs, 0, 8);
+        assertEquals(12, hull.faceCount());
+        assertEquals(1.0, PolyhedronVolume.computeVolume(xs, ys, zs, hull.faces), 1e-12);
+        assertEquals(6.0, PolyhedronVolume.computeSurfaceArea(xs, ys, zs, hull.faces), 1e-12);
+        assertThrows(IllegalArgumentException.class,
+                () -> PolyhedronVolume.computeVolume(xs, ys, zs, new int[]{0, 1}));
+    }
+
+
+    // Triples with every other point strictly below them, counter-clockwise from outside;
+    // complete for points in general position
+    private static Set<List<Integer>> bruteForceFaces(double[] xs, double[] ys, double[] zs) {
+        int n = xs.length;
+        Set<List<Integer>> faces = new HashSet<>();
+        for (int a = 0; a < n; a++)
+            for (int b = a + 1; b < n; b++)
+                for (int c = b + 1; c < n; c++) {
+                    int above = 0, below = 0;
+                    for (int p = 0; p < n; p++) {
+                        if (p == a || p == b || p == c) continue;
+                        int side = Orientation.orientation(xs[a], ys[a], zs[a], xs[b], ys[b], zs[b],
+                                xs[c], ys[c], zs[c], xs[p], ys[p], zs[p]);
+                        if (side > 0) above++;
+                        else if (side < 0) below++;
+                    }
+                    if (above == 0) faces.add(List.of(a, b, c));
+                    else if (below == 0) faces.add(List.of(a, c, b));
+                }
+        return faces;
+    }
+
+
+    // Tetrahedra from the vertex average, which lies inside, to every face
+    private static double bruteForceVolume(double[] xs, double[] ys, double[] zs, Set<List<Integer>> faces) {
+        double cx = 0, cy = 0, cz = 0;
+        int count = 0;
+        for (List<Integer> face : faces)
+            for (int v : face) {
+                cx += xs[v];
+                cy += ys[v];
+                cz += zs[v];
+                count++;
+            }
+        cx /= count;
+        cy /= count;
+        cz /= count;
+
+        double volume = 0;
+        for (List<Integer> face : faces) {
+            int a = face.get(0), b = face.get(1), c = face.get(2);
+            double ax = xs[a] - cx, ay = ys[a] - cy, az = zs[a] - cz;
+            double bx = xs[b] - cx, by = ys[b] - cy, bz = zs[b] - cz;
+            double qx = xs[c] - cx, qy = ys[c] - cy, qz = zs[c] - cz;
+            volume += Math.abs(ax * (by * qz - bz * qy) + ay * (bz * qx - bx * qz) + az * (bx * qy - by * qx));
+        }
+        return volume / 6;
+    }
+
+
+    // Faces rotated to start at their smallest vertex, which keeps the orientation
+    private static Set<List<Integer>> faceSet(int[] faces) {
+        Set<List<Integer>> set = new HashSet<>();
+        for (int f = 0; f < faces.length; f += 3) {
+            int a = faces[f], b = faces[f + 1], c = faces[f + 2];
+            if (b < a && b < c) set.add(List.of(b, c, a));
+            else if (c < a && c < b) set.add(List.of(c, a, b));
+            else set.add(List.of(a, b, c));
+        }
+        assertEquals(faces.length / 3, set.size(), "repeated face in " + Arrays.toString(faces));
+        return set;
+    }
+
+
+    // Every directed edge once, with its reverse in another face
+    private static void assertClosed(int[] faces) {
+        Map<Long, Integer> edges = new HashMap<>();
+        for (int f = 0; f < faces.length; f += 3) {
+            for (int e = 0; e < 3; e++) {
+                long edge = (long) faces[f + e] << 32 | faces[f + (e + 1) % 3];
+                assertNull(edges.put(edge, f), "edge used twice");
+            }
+        }
+        for (long edge : edges.keySet()) {
+            assertTrue(edges.containsKey((edge & 0xffffffffL) << 32 | edge >>> 32), "open edge");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuickHullTest {
+    // Six points tie exactly for the farthest from minX→maxX on y = 1000, where the
+    // rounded projections onto the edge picked one from the middle of the run
+    private static final double[] TIED_XS = {
+            -156.43446504023055, 156.43446504023098, -5.0373280255699954E-14, -6.296390427692712E-14,
+            4.756263460609946E-14, 1.5551895213408415E-13, 4.181607500073708E-14, 1.0598011917368107E-13, 0};
+    private static final double[] TIED_YS = {
+            987.6883405951378, 987.6883405951378, 1000, 1000, 1000, 1000, 1000, 1000, -1000};
+    private static final int[] TIED_HULL = {0, 8, 1, 5, 3};
+
+
+    @Test
+    void tiedFarthestPointsKeepOnlyTheEndsOfTheRun() {
+        int[] hull = QuickHull.computeHull(TIED_XS, TIED_YS, 0, TIED_XS.length);
+        assertArrayEquals(TIED_HULL, hull);
+        assertDoesNotThrow(() -> new HullIndex(TIED_XS, TIED_YS, hull));
+    }
+
+
+    @Test
+    void tiedFarthestPointsOnEveryPath() {
+        int n = TIED_XS.length;
+        assertArrayEquals(TIED_HULL, QuickHull.computeHullAndArea(TIED_XS, TIED_YS, 0, n).indices);
+        assertArrayEquals(TIED_HULL, QuickHull.computeHull(TIED_XS, TIED_YS, 0, n, new AklToussaint(8)));
+        assertArrayEquals(TIED_HULL,
+                ParallelQuickHull.computeHull(TIED_XS, TIED_YS, 0, n, ForkJoinPool.commonPool(), 1, null));
+    }
+
+
+    // Products of coordinates this large overflow, and of coordinates this small
+    // underflow; the signs must come from the exact stage then
+    @Test
+    void orientationOfHugeAndTinyCoordinates() {
+        assertEquals(1, Orientation.orientation(0, 0, 1e200, 0, 0, 1e200));
+        assertEquals(-1, Orientation.orientation(0, 0, 0, 1e200, 1e200, 0));
+        assertEquals(1, Orientation.orientation(0, 0, 1e-200, 0, 0, 1e-200));
+        assertEquals(0, Orientation.orientation(-1e200, -1e200, 0, 0, 1e200, 1e200));
+        assertEquals(1, Orientation.orientation(0, 0, 0, 1e-200, 0, 0, 0, 1e-200, 0, 0, 0, 1e-200));
+    }
+
+
+    @Test
+    void diamondOfHugeAndTinyCoordinates() {
+        for (double scale : new double[]{1e200, 1e300, 1e-200, 1e-300}) {
+            double[] xs = {-scale, scale, 0, 0};
+            double[] ys = {0, 0, scale, -scale};
+            assertArrayEquals(new int[]{0, 3, 1, 2}, QuickHull.computeHull(xs, ys, 0, 4), "scale " + scale);
+            assertArrayEquals(new int[]{0, 3, 1, 2}, QuickHull.computeHull(xs, ys, 0, 4, new AklToussaint(8)));
+
+            IncrementalHull incremental = new IncrementalHull();
+            List<Point> points = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                points.add(new Point(xs[i], ys[i]));
+                incremental.add(points.get(i));
+            }
+            assertEquals(List.of(points.get(0), points.get(3), points.get(1), points.get(2)), incremental.getHull());
+        }
+    }
+
+
+    // Shoelace terms around the origin would be about 1e18 here and lose the whole area
+    @Test
+    void measuresOfAFarOffHull() {
+        int n = 100;
+        double[] xs = new double[n], ys = new double[n], farXs = new double[n], farYs = new double[n];
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n, radius = i % 3 == 0 ? 0.25 : 0.5;
+            xs[i] = radius * Math.cos(angle);
+            ys[i] = radius * Math.sin(angle);
+            farXs[i] = 1e9 + xs[i];
+            farYs[i] = -2e9 + ys[i];
+        }
+        HullResult near = QuickHull.computeHullAndArea(xs, ys, 0, n);
+        HullResult far = QuickHull.computeHullAndArea(farXs, farYs, 0, n);
+        assertArrayEquals(near.indices, far.indices);
+        assertEquals(near.area, far.area, 1e-6);
+        assertEquals(near.perimeter, far.perimeter, 1e-6);
+        assertEquals(1e9 + near.centroidX, far.centroidX, 1e-6);
+        assertEquals(-2e9 + near.centroidY, far.centroidY, 1e-6);
+        assertEquals(near.area, PolygonArea.computeArea(farXs, farYs, far.indices), 1e-6);
+        assertEquals(near.area, PolygonArea.computeArea(far.select(points(farXs, farYs))), 1e-6);
+    }
+
+
+    private static List<Point> points(double[] xs, double[] ys) {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < xs.length; i++) points.add(new Point(xs[i], ys[i]));
+        return points;
+    }
+}
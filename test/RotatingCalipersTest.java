@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotatingCalipersTest {
+    private static final double EPSILON = 1e-9;
+
+
+    @Test
+    void measuresMatchBruteForce() {
+        Random random = new Random(22);
+        for (int round = 0; round < 300; round++) {
+            double[][] points = BruteForce.points(random, 1 + random.nextInt(round < 30 ? 3 : 60), round);
+            double[] xs = points[0], ys = points[1];
+            int[] hull = BruteForce.hull(xs, ys);
+            int h = hull.length;
+            double[] hxs = new double[h], hys = new double[h];
+            for (int i = 0; i < h; i++) {
+                hxs[i] = xs[hull[i]];
+                hys[i] = ys[hull[i]];
+            }
+            HullMetrics metrics = RotatingCalipers.measure(xs, ys, hull);
+            String message = "round " + round;
+
+            double diameter = 0;
+            for (int a = 0; a < h; a++)
+                for (int b = 0; b < h; b++) diameter = Math.max(diameter, Math.hypot(hxs[b] - hxs[a], hys[b] - hys[a]));
+            assertEquals(diameter, metrics.diameter, EPSILON, message);
+            assertEquals(diameter, Math.hypot(hxs[metrics.diameterTo] - hxs[metrics.diameterFrom],
+                    hys[metrics.diameterTo] - hys[metrics.diameterFrom]), EPSILON, message);
+
+            if (h < 3) {
+                assertEquals(0.0, metrics.area, message);
+                assertEquals(0.0, metrics.width, message);
+                assertEquals(0.0, metrics.rectangleArea, message);
+                continue;
+            }
+            assertEquals(BruteForce.area(xs, ys, hull), metrics.area, EPSILON, message);
+
+            // Width and rectangle over every edge, each against all vertices
+            double width = Double.POSITIVE_INFINITY, rectangle = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < h; i++) {
+                int j = (i + 1) % h;
+                double length = Math.hypot(hxs[j] - hxs[i], hys[j] - hys[i]);
+                double ux = (hxs[j] - hxs[i]) / length, uy = (hys[j] - hys[i]) / length;
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, across = 0;
+                for (int k = 0; k < h; k++) {
+                    double along = (hxs[k] - hxs[i]) * ux + (hys[k] - hys[i]) * uy;
+                    min = Math.min(min, along);
+                    max = Math.max(max, along);
+                    across = Math.max(across, (hys[k] - hys[i]) * ux - (hxs[k] - hxs[i]) * uy);
+                }
+                width = Math.min(width, across);
+                rectangle = Math.min(rectangle, (max - min) * across);
+            }
+            assertEquals(width, metrics.width, EPSILON, message);
+            assertEquals(rectangle, metrics.rectangleArea, EPSILON, message);
+            assertEquals(metrics.rectangleArea,
+                    BruteForce.area(metrics.rectangleXs, metrics.rectangleYs, new int[]{0, 1, 2, 3}), EPSILON, message);
+
+            // The rectangle holds the whole hull
+            for (int k = 0; k < h; k++) {
+                for (int c = 0; c < 4; c++) {
+                    int d = (c + 1) % 4;
+                    double ex = metrics.rectangleXs[d] - metrics.rectangleXs[c];
+                    double ey = metrics.rectangleYs[d] - metrics.rectangleYs[c];
+                    double side = ex * (hys[k] - metrics.rectangleYs[c]) - ey * (hxs[k] - metrics.rectangleXs[c]);
+                    assertTrue(side >= -EPSILON * Math.hypot(ex, ey), message + ", vertex " + k);
+                }
+            }
+        }
+    }
+
+
+    // Multiples of 2^-10 stay exact next to 1e9, so both hulls are the same shape
+    @Test
+    void measuresOfAFarOffHull() {
+        Random random = new Random(220);
+        double[] xs = new double[200], ys = new double[200], farXs = new double[200], farYs = new double[200];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(1024) / 1024.0;
+            ys[i] = random.nextInt(1024) / 1024.0;
+            farXs[i] = 1e9 + xs[i];
+            farYs[i] = 1e9 + ys[i];
+        }
+        int[] hull = QuickHull.computeHull(xs, ys, 0, xs.length);
+        HullMetrics near = RotatingCalipers.measure(xs, ys, hull);
+        HullMetrics far = RotatingCalipers.measure(farXs, farYs, hull);
+        assertEquals(near.area, far.area, EPSILON);
+        assertEquals(near.diameter, far.diameter, EPSILON);
+        assertEquals(near.width, far.width, EPSILON);
+        assertEquals(near.rectangleArea, far.rectangleArea, EPSILON);
+    }
+
+
+    @Test
+    void emptyHullIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RotatingCalipers.measure(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> RotatingCalipers.measure(null));
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlidingWindowHullTest {
+
+    @Test
+    void countWindowsMatchBruteForce() {
+        Random random = new Random(19);
+        for (int round = 0; round < 60; round++) {
+            int maxPoints = 1 + random.nextInt(round < 10 ? 3 : 25);
+            double[][] stream = BruteForce.points(random, 200, round);
+            SlidingWindowHull window = SlidingWindowHull.ofCount(maxPoints);
+            Deque<Point> expected = new ArrayDeque<>();
+            for (int i = 0; i < stream[0].length; i++) {
+                Point p = new Point(stream[0][i], stream[1][i]);
+                window.add(p);
+                expected.addLast(p);
+                if (expected.size() > maxPoints) expected.removeFirst();
+                assertWindow(expected, window, "round " + round + ", point " + i);
+            }
+        }
+    }
+
+
+    @Test
+    void spanWindowsMatchBruteForce() {
+        Random random = new Random(190);
+        for (int round = 0; round < 60; round++) {
+            long span = 1 + random.nextInt(12);
+            double[][] stream = BruteForce.points(random, 200, round);
+            SlidingWindowHull window = SlidingWindowHull.ofSpan(span);
+            Deque<Point> expected = new ArrayDeque<>();
+            Deque<Long> times = new ArrayDeque<>();
+            long time = 0;
+            for (int i = 0; i < stream[0].length; i++) {
+                time += random.nextInt(4);
+                Point p = new Point(stream[0][i], stream[1][i]);
+                window.add(p, time);
+                expected.addLast(p);
+                times.addLast(time);
+                while (times.getFirst() <= time - span) {
+                    times.removeFirst();
+                    expected.removeFirst();
+                }
+                assertWindow(expected, window, "round " + round + ", point " + i);
+            }
+
+            window.advance(time + span);
+            assertEquals(0, window.size());
+            assertEquals(List.of(), window.getHull());
+        }
+    }
+
+
+    @Test
+    void timeMustNotGoBackwards() {
+        SlidingWindowHull window = SlidingWindowHull.ofSpan(10);
+        window.add(new Point(0, 0), 5);
+        assertThrows(IllegalArgumentException.class, () -> window.add(new Point(1, 1), 4));
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindowHull.ofCount(0));
+    }
+
+
+    // Point has no equals, so the lists compare the very points: of equal ones the oldest
+    private static void assertWindow(Deque<Point> expected, SlidingWindowHull window, String message) {
+        List<Point> points = new ArrayList<>(expected);
+        List<Point> hull = BruteForce.hull(points);
+        assertEquals(points.size(), window.size(), message);
+        assertEquals(hull, window.getHull(), message);
+        assertEquals(BruteForce.area(hull), window.getArea(), 1e-9, message);
+    }
+}